@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Limits the queries executed concurrently by the connections of a {@link ConnectionGroup},
+ * so that bursts of queries wait in the driver instead of overloading the cluster. A query
+ * holds its permit until its first page of rows arrives, an update until it completes.
+ * <p>
+ * Queries which can't run immediately wait in a queue of their {@link WorkloadClass}, a query
+ * which finds its queue full fails immediately. The queries of a class are admitted in the
+ * order they arrived, a new query doesn't overtake the waiting ones. Waiting interactive
+ * queries are admitted before batch queries, and batch queries may be limited to fewer
+ * concurrent queries.
+ */
+final class AdmissionControl {
+
+    private final int maxConcurrent;
+    private final int maxConcurrentBatch;
+    private final int maxQueued;
+
+    /** Admitted queries, guarded by {@code this}. */
+    private int running;
+    private int runningBatch;
+    /** Waiting queries in the order of arrival, guarded by {@code this}. */
+    private final Deque<Object> queuedInteractive = new ArrayDeque<>();
+    private final Deque<Object> queuedBatch = new ArrayDeque<>();
+
+    /**
+     * @param maxConcurrent      maximum concurrent queries, {@code 0} for no limit
+     * @param maxConcurrentBatch maximum concurrent batch queries, {@code 0} for no limit
+     *                           other than {@code maxConcurrent}
+     * @param maxQueued          maximum waiting queries of each workload class
+     */
+    AdmissionControl(int maxConcurrent, int maxConcurrentBatch, int maxQueued) {
+        this.maxConcurrent = maxConcurrent > 0 ? maxConcurrent : Integer.MAX_VALUE;
+        this.maxConcurrentBatch = maxConcurrentBatch > 0 ? maxConcurrentBatch : Integer.MAX_VALUE;
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * Waits until the query may be executed.
+     *
+     * @param timeoutMillis maximum time to wait, {@code 0} to wait indefinitely
+     * @return the permit to release when the query completes
+     * @throws SQLTransientException if the queue of the workload class is full
+     * @throws SQLTimeoutException   if the query wasn't admitted within the timeout
+     */
+    Permit acquire(WorkloadClass workloadClass, long timeoutMillis) throws SQLException {
+        boolean batch = workloadClass == WorkloadClass.BATCH;
+        synchronized (this) {
+            if (!canRun(batch) || !queue(batch).isEmpty()) {
+                await(batch, timeoutMillis);
+            }
+            running++;
+            if (batch) {
+                runningBatch++;
+            }
+        }
+        return new Permit(batch);
+    }
+
+    private void await(boolean batch, long timeoutMillis) throws SQLException {
+        Deque<Object> queue = queue(batch);
+        if (queue.size() >= maxQueued) {
+            throw new SQLTransientException("Too many queued " + (batch ? "batch" : "interactive")
+                    + " queries, at most " + maxQueued + " may wait");
+        }
+        Object waiter = new Object();
+        queue.add(waiter);
+        try {
+            long deadline = System.nanoTime() + MILLISECONDS.toNanos(timeoutMillis);
+            while (queue.peek() != waiter || !canRun(batch)) {
+                if (timeoutMillis == 0) {
+                    wait();
+                    continue;
+                }
+                long remainingNanos = deadline - System.nanoTime();
+                if (remainingNanos <= 0) {
+                    throw new SQLTimeoutException("Query not admitted within " + timeoutMillis + " ms");
+                }
+                NANOSECONDS.timedWait(this, remainingNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for admission", e);
+        } finally {
+            queue.remove(waiter);
+            // the next query of the queue, or batch queries waiting for this one, may run now
+            notifyAll();
+        }
+    }
+
+    private boolean canRun(boolean batch) {
+        if (running >= maxConcurrent) {
+            return false;
+        }
+        return !batch || (runningBatch < maxConcurrentBatch && queuedInteractive.isEmpty());
+    }
+
+    private Deque<Object> queue(boolean batch) {
+        return batch ? queuedBatch : queuedInteractive;
+    }
+
+    private synchronized void release(boolean batch) {
+        running--;
+        if (batch) {
+            runningBatch--;
+        }
+        notifyAll();
+    }
+
+    /**
+     * Permit of an admitted query, released at most once.
+     */
+    final class Permit {
+        private final boolean batch;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(boolean batch) {
+            this.batch = batch;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                AdmissionControl.this.release(batch);
+            }
+        }
+    }
+}
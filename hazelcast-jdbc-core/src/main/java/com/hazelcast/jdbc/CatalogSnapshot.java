@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory copy of the tables and columns in the cluster, indexed by catalog, schema and
+ * table name, which serves {@link java.sql.DatabaseMetaData#getTables} and
+ * {@link java.sql.DatabaseMetaData#getColumns} without a round trip per call.
+ * <p>
+ * Rows are kept as the value arrays of the respective metadata result sets. Lookups
+ * accept the same {@code LIKE} patterns as the metadata methods; a pattern without
+ * wildcards is resolved by a map lookup.
+ */
+final class CatalogSnapshot {
+
+    static final int TABLE_CAT = 0;
+    static final int TABLE_SCHEM = 1;
+    static final int TABLE_NAME = 2;
+    static final int TABLE_TYPE = 3;
+    static final int COLUMN_NAME = 3;
+
+    private static final Comparator<Object[]> TABLE_ORDER =
+            Comparator.comparing(values -> Objects.toString(values[TABLE_TYPE], ""));
+
+    /** catalog -> schema -> table name -> table */
+    private final Map<String, Map<String, Map<String, Table>>> index = new TreeMap<>();
+
+    /**
+     * Adds a table, must be called before the columns of the table are added.
+     *
+     * @param values row of the {@code getTables} result set
+     */
+    void addTable(Object[] values) {
+        index.computeIfAbsent(key(values[TABLE_CAT]), k -> new TreeMap<>())
+                .computeIfAbsent(key(values[TABLE_SCHEM]), k -> new TreeMap<>())
+                .put(key(values[TABLE_NAME]), new Table(values));
+    }
+
+    /**
+     * Adds a column, columns of a table must be added in their ordinal order. Columns of
+     * unknown tables are ignored.
+     *
+     * @param values row of the {@code getColumns} result set
+     */
+    void addColumn(Object[] values) {
+        Map<String, Map<String, Table>> schemas = index.get(key(values[TABLE_CAT]));
+        Map<String, Table> tables = schemas == null ? null : schemas.get(key(values[TABLE_SCHEM]));
+        Table table = tables == null ? null : tables.get(key(values[TABLE_NAME]));
+        if (table != null) {
+            table.columns.add(values);
+        }
+    }
+
+    /**
+     * @param types table types to include, or {@code null} to include all
+     * @return matching rows of the {@code getTables} result set, ordered by type, catalog, schema and name
+     */
+    Stream<Object[]> tables(String catalog, String schemaPattern, String tableNamePattern, Set<String> types) {
+        return matchingTables(catalog, schemaPattern, tableNamePattern)
+                .map(table -> table.values)
+                .filter(values -> types == null || types.contains(values[TABLE_TYPE]))
+                .sorted(TABLE_ORDER);
+    }
+
+    /**
+     * @return matching rows of the {@code getColumns} result set, ordered by catalog, schema,
+     * table name and ordinal position
+     */
+    Stream<Object[]> columns(String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern) {
+        Pattern columnPattern = columnNamePattern == null ? null : toRegex(columnNamePattern);
+        return matchingTables(catalog, schemaPattern, tableNamePattern)
+                .flatMap(table -> table.columns.stream())
+                .filter(values -> columnPattern == null
+                        || columnPattern.matcher(key(values[COLUMN_NAME])).matches());
+    }
+
+    private Stream<Table> matchingTables(String catalog, String schemaPattern, String tableNamePattern) {
+        return matching(index, catalog)
+                .flatMap(schemas -> matching(schemas, schemaPattern))
+                .flatMap(tables -> matching(tables, tableNamePattern));
+    }
+
+    private static <V> Stream<V> matching(Map<String, V> map, String pattern) {
+        if (pattern == null) {
+            return map.values().stream();
+        }
+        if (pattern.indexOf('%') < 0 && pattern.indexOf('_') < 0) {
+            V value = map.get(pattern);
+            return value == null ? Stream.empty() : Stream.of(value);
+        }
+        Pattern regex = toRegex(pattern);
+        return map.entrySet().stream()
+                .filter(entry -> regex.matcher(entry.getKey()).matches())
+                .map(Map.Entry::getValue);
+    }
+
+    /**
+     * Converts a {@code LIKE} pattern to a regular expression. The driver reports no
+     * search string escape, so {@code %} and {@code _} are always wildcards.
+     */
+    static Pattern toRegex(String likePattern) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : likePattern.toCharArray()) {
+            if (c == '%' || c == '_') {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '%' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    private static String key(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private static final class Table {
+        private final Object[] values;
+        private final Collection<Object[]> columns = new ArrayList<>();
+
+        private Table(Object[] values) {
+            this.values = values;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Receives the rows of a query subscribed with {@link JdbcConnection#subscribe} and their changes.
+ * The methods are called one at a time, in the order of the changes of each key.
+ */
+public interface ChangeListener {
+
+    /**
+     * Called for each row of the initial snapshot and for each inserted or updated row matching
+     * the condition. The result set is positioned on the row, its first column is the key
+     * followed by the columns of the mapping. The result set must not be used outside of this method.
+     */
+    void onRow(Object key, ResultSet row) throws SQLException;
+
+    /**
+     * Called when the entry with the key was removed, or changed and doesn't match the condition.
+     * It may be called for keys which were not delivered to {@link #onRow} before.
+     */
+    void onDelete(Object key);
+
+    /**
+     * Called if reading a row failed. The subscription continues with the next change.
+     */
+    default void onError(SQLException e) {
+    }
+}
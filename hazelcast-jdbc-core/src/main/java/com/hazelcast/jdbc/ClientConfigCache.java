@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import com.hazelcast.client.config.ClientConfig;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the client configuration loaded by {@link ClientConfig#load()}, which locates
+ * and parses configuration files and applies system property and environment overrides.
+ * The loaded configuration is kept per context class loader, together with a fingerprint
+ * of its possible sources: the {@code hazelcast.client.config} property, the configuration
+ * files in the working directory and on the class path with their modification times,
+ * and the override properties and variables. The sources are checked at most once per check
+ * interval and the configuration is loaded again only if the fingerprint changes. Environment
+ * variables are read once, they don't change while the JVM runs.
+ * <p>
+ * Each caller receives its own copy. A configuration with a load balancer instance is loaded
+ * for every caller instead, the copy would share the instance, which holds the state of one client.
+ */
+final class ClientConfigCache {
+
+    private static final String CONFIG_PROPERTY = "hazelcast.client.config";
+    private static final String[] CONFIG_FILES = {"hazelcast-client.xml", "hazelcast-client.yaml", "hazelcast-client.yml"};
+
+    private static final Map<String, String> ENV_OVERRIDES = overrides(System.getenv());
+
+    private final Supplier<ClientConfig> loader;
+    private final long checkIntervalNanos;
+    private final Map<ClassLoader, Entry> entries = new WeakHashMap<>();
+
+    /**
+     * @param checkIntervalMillis time for which the sources are assumed unchanged after a check
+     */
+    ClientConfigCache(Supplier<ClientConfig> loader, long checkIntervalMillis) {
+        this.loader = loader;
+        this.checkIntervalNanos = TimeUnit.MILLISECONDS.toNanos(checkIntervalMillis);
+    }
+
+    /**
+     * @return a copy of the loaded configuration, which the caller can modify
+     */
+    ClientConfig get() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        long now = System.nanoTime();
+        Entry entry;
+        boolean check;
+        synchronized (entries) {
+            entry = entries.get(classLoader);
+            check = entry == null || now - entry.checkedNanos >= checkIntervalNanos;
+        }
+        if (check) {
+            List<Object> fingerprint = fingerprint(classLoader);
+            synchronized (entries) {
+                entry = entries.get(classLoader);
+                if (entry == null || !entry.fingerprint.equals(fingerprint)) {
+                    entry = new Entry(fingerprint, loader.get());
+                    entries.put(classLoader, entry);
+                }
+                entry.checkedNanos = now;
+            }
+        }
+        if (entry.config.getLoadBalancer() != null) {
+            return loader.get();
+        }
+        return new ClientConfig(entry.config);
+    }
+
+    static List<Object> fingerprint(ClassLoader classLoader) {
+        List<Object> fingerprint = new ArrayList<>();
+        String configProperty = System.getProperty(CONFIG_PROPERTY);
+        fingerprint.add(configProperty);
+        if (configProperty != null && !configProperty.startsWith("classpath:")) {
+            fingerprint.add(new File(configProperty).lastModified());
+        }
+        for (String name : CONFIG_FILES) {
+            fingerprint.add(new File(name).lastModified());
+            URL resource = classLoader == null ? ClassLoader.getSystemResource(name) : classLoader.getResource(name);
+            fingerprint.add(resource == null ? null : resource.toString());
+            fingerprint.add(lastModified(resource));
+        }
+        if (configProperty != null && configProperty.startsWith("classpath:")) {
+            String name = configProperty.substring("classpath:".length());
+            URL resource = classLoader == null ? ClassLoader.getSystemResource(name) : classLoader.getResource(name);
+            fingerprint.add(lastModified(resource));
+        }
+        fingerprint.add(overrides(System.getProperties()));
+        fingerprint.add(ENV_OVERRIDES);
+        return fingerprint;
+    }
+
+    private static long lastModified(URL resource) {
+        if (resource == null || !"file".equals(resource.getProtocol())) {
+            return 0;
+        }
+        try {
+            return new File(resource.toURI()).lastModified();
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * @return the entries that may override the configuration, the system properties and
+     * environment variables prefixed with {@code hazelcast} or {@code hz}
+     */
+    private static Map<String, String> overrides(Map<?, ?> source) {
+        Map<String, String> result = new TreeMap<>();
+        if (source instanceof Properties) {
+            Properties properties = (Properties) source;
+            for (String name : properties.stringPropertyNames()) {
+                addOverride(result, name, properties.getProperty(name));
+            }
+        } else {
+            source.forEach((k, v) -> addOverride(result, String.valueOf(k), String.valueOf(v)));
+        }
+        return result;
+    }
+
+    private static void addOverride(Map<String, String> result, String name, String value) {
+        String lowerCase = name.toLowerCase();
+        if (lowerCase.startsWith("hazelcast") || lowerCase.startsWith("hz")) {
+            result.put(name, value);
+        }
+    }
+
+    private static final class Entry {
+        private final List<Object> fingerprint;
+        private final ClientConfig config;
+        /** Time of the last check of the sources, guarded by the entries */
+        private long checkedNanos;
+
+        Entry(List<Object> fingerprint, ClientConfig config) {
+            this.fingerprint = fingerprint;
+            this.config = config;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import com.hazelcast.core.LifecycleEvent;
+import com.hazelcast.core.LifecycleListener;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the connection of a client to the cluster. A client started with {@code asyncStart}
+ * is created before it connects, its statements wait for the first connection instead of
+ * failing because the client is offline. It's registered in the client configuration,
+ * so that it doesn't miss events fired while the client is created.
+ */
+final class ClusterReadiness implements LifecycleListener {
+
+    private final CountDownLatch done = new CountDownLatch(1);
+    private final long defaultTimeoutMillis;
+    private volatile boolean everConnected;
+    private volatile boolean connected;
+
+    /**
+     * @param defaultTimeoutMillis time to wait if the statement has no timeout, negative to wait indefinitely
+     */
+    ClusterReadiness(long defaultTimeoutMillis) {
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+    }
+
+    @Override
+    public void stateChanged(LifecycleEvent event) {
+        switch (event.getState()) {
+            case CLIENT_CONNECTED:
+                everConnected = true;
+                connected = true;
+                done.countDown();
+                break;
+            case CLIENT_DISCONNECTED:
+                connected = false;
+                break;
+            case SHUTTING_DOWN:
+            case SHUTDOWN:
+                connected = false;
+                done.countDown();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * @return {@code true} if the client is currently connected to the cluster
+     */
+    boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Waits until the client connects to the cluster for the first time.
+     *
+     * @param timeoutMillis maximum time to wait, {@code 0} to use the cluster connect timeout
+     */
+    void await(long timeoutMillis) throws SQLException {
+        if (done.getCount() == 0) {
+            checkConnected();
+            return;
+        }
+        long timeout = timeoutMillis > 0 ? timeoutMillis : defaultTimeoutMillis;
+        try {
+            if (timeout < 0) {
+                done.await();
+            } else if (!done.await(timeout, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("Not connected to the cluster within " + timeout + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while connecting to the cluster", e);
+        }
+        checkConnected();
+    }
+
+    private void checkConnected() throws SQLException {
+        if (!everConnected) {
+            throw new SQLException("Couldn't connect to the cluster");
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Driver-side state shared by all open connections created with the same URL and
+ * properties. A group exists while at least one of its connections is open.
+ */
+final class ConnectionGroup {
+
+    private static final ConcurrentMap<Key, ConnectionGroup> GROUPS = new ConcurrentHashMap<>();
+
+    /** Metadata cache TTL used in the catalog snapshot mode, unless configured explicitly. */
+    private static final int DEFAULT_CATALOG_SNAPSHOT_TTL_SECONDS = 60;
+    private static final int DEFAULT_POINT_LOOKUP_BATCH_SIZE = 100;
+    private static final int DEFAULT_HEDGE_BUDGET_PERCENT = 5;
+    private static final int DEFAULT_MAX_QUEUED_QUERIES = 100;
+
+    private final Key key;
+    private final MetadataCache metadataCache;
+    private final boolean catalogSnapshot;
+    private final PointLookupBatcher pointLookupBatcher;
+    private final SingleFlight singleFlight;
+    private final HedgedExecution hedgedExecution;
+    private final AdmissionControl admissionControl;
+
+    /** Number of open connections in the group, guarded by {@link #GROUPS}. */
+    private int references;
+
+    private ConnectionGroup(Key key, JdbcUrl url) {
+        this.key = key;
+        catalogSnapshot = HazelcastConfigFactory.parseBoolean(url, "catalogSnapshot", false);
+        long metadataCacheTtl = HazelcastConfigFactory.parseInt(url, "metadataCacheTtlSeconds",
+                catalogSnapshot ? DEFAULT_CATALOG_SNAPSHOT_TTL_SECONDS : 0);
+        this.metadataCache = new MetadataCache(metadataCacheTtl, TimeUnit.SECONDS);
+
+        int batchWindow = HazelcastConfigFactory.parseInt(url, "pointLookupBatchWindowMicros", 0);
+        int batchSize = HazelcastConfigFactory.parseInt(url, "pointLookupBatchSize", DEFAULT_POINT_LOOKUP_BATCH_SIZE);
+        if (batchSize == 0) {
+            throw new RuntimeException("'pointLookupBatchSize' must be positive");
+        }
+        this.pointLookupBatcher = batchWindow > 0
+                ? new PointLookupBatcher(batchWindow, TimeUnit.MICROSECONDS, batchSize)
+                : null;
+        this.singleFlight = HazelcastConfigFactory.parseBoolean(url, "singleFlight", false) ? new SingleFlight() : null;
+
+        int hedgeDelay = HazelcastConfigFactory.parseInt(url, "hedgeDelayMillis", 0);
+        int hedgeBudget = HazelcastConfigFactory.parseInt(url, "hedgeBudgetPercent", DEFAULT_HEDGE_BUDGET_PERCENT);
+        if (hedgeBudget == 0 || hedgeBudget > 100) {
+            throw new RuntimeException("'hedgeBudgetPercent' must be between 1 and 100");
+        }
+        this.hedgedExecution = hedgeDelay > 0 ? new HedgedExecution(hedgeDelay, hedgeBudget) : null;
+
+        int maxConcurrentQueries = HazelcastConfigFactory.parseInt(url, "maxConcurrentQueries", 0);
+        int maxConcurrentBatchQueries = HazelcastConfigFactory.parseInt(url, "maxConcurrentBatchQueries", 0);
+        int maxQueuedQueries = HazelcastConfigFactory.parseInt(url, "maxQueuedQueries", DEFAULT_MAX_QUEUED_QUERIES);
+        this.admissionControl = maxConcurrentQueries > 0 || maxConcurrentBatchQueries > 0
+                ? new AdmissionControl(maxConcurrentQueries, maxConcurrentBatchQueries, maxQueuedQueries)
+                : null;
+    }
+
+    /**
+     * Returns the group for the given URL, creating it if needed. Every call must be
+     * paired with a call to {@link #release()}.
+     */
+    static ConnectionGroup acquire(JdbcUrl url) {
+        return GROUPS.compute(new Key(url), (key, group) -> {
+            if (group == null) {
+                group = new ConnectionGroup(key, url);
+            }
+            group.references++;
+            return group;
+        });
+    }
+
+    void release() {
+        GROUPS.computeIfPresent(key, (k, group) -> --group.references == 0 ? null : group);
+    }
+
+    MetadataCache getMetadataCache() {
+        return metadataCache;
+    }
+
+    /**
+     * @return whether {@code getTables} and {@code getColumns} are served from a
+     * {@link CatalogSnapshot} of the whole catalog
+     */
+    boolean isCatalogSnapshot() {
+        return catalogSnapshot;
+    }
+
+    /**
+     * @return the batcher for key lookups, or {@code null} if batching is disabled
+     */
+    PointLookupBatcher getPointLookupBatcher() {
+        return pointLookupBatcher;
+    }
+
+    /**
+     * @return the deduplication of concurrent identical queries, or {@code null} if it's disabled
+     */
+    SingleFlight getSingleFlight() {
+        return singleFlight;
+    }
+
+    /**
+     * @return the hedging of slow queries, or {@code null} if it's disabled
+     */
+    HedgedExecution getHedgedExecution() {
+        return hedgedExecution;
+    }
+
+    /**
+     * @return the limit of concurrent queries, or {@code null} if the queries aren't limited
+     */
+    AdmissionControl getAdmissionControl() {
+        return admissionControl;
+    }
+
+    private static final class Key {
+        private final String rawUrl;
+        private final Map<String, String> properties;
+
+        private Key(JdbcUrl url) {
+            // the URL parameters are compared as properties, connections which differ only
+            // in their workload class share the group
+            String rawUrl = url.getRawUrl();
+            int parameters = rawUrl.indexOf('?');
+            this.rawUrl = parameters < 0 ? rawUrl : rawUrl.substring(0, parameters);
+            this.properties = new HashMap<>(url.getProperties());
+            this.properties.remove("workloadClass");
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key that = (Key) o;
+            return rawUrl.equals(that.rawUrl) && properties.equals(that.properties);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(rawUrl, properties);
+        }
+    }
+}
@@ -52,14 +52,14 @@ public class Driver implements java.sql.Driver {
         if (!JdbcUrl.acceptsUrl(url)) {
             return null;
         }
-        JdbcUrl jdbcUrl;
+        HazelcastSqlClient client;
         try {
-            jdbcUrl = new JdbcUrl(url, info);
+            client = new HazelcastSqlClient(new JdbcUrl(url, info));
         } catch (IllegalArgumentException e) {
             // convert to SQLException
             throw new SQLException(e.getMessage(), e);
         }
-        return new JdbcConnection(new HazelcastSqlClient(jdbcUrl));
+        return new JdbcConnection(client);
     }
 
     @Override
@@ -72,7 +72,18 @@ public class Driver implements java.sql.Driver {
 
     @Override
     public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
-        return new DriverPropertyInfo[0];
+        Properties values = new Properties();
+        if (info != null) {
+            values.putAll(info);
+        }
+        if (url != null && JdbcUrl.acceptsUrl(url)) {
+            try {
+                values.putAll(new JdbcUrl(url, info).getProperties());
+            } catch (IllegalArgumentException ignored) {
+                // report the values from the Properties only
+            }
+        }
+        return DriverProperties.describe(values);
     }
 
     @Override
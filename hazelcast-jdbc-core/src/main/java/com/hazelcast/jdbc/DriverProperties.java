@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import java.sql.DriverPropertyInfo;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * The connection properties reported by {@link Driver#getPropertyInfo}, in the order of the
+ * README.
+ */
+final class DriverProperties {
+
+    private static final String[] BOOLEAN = {"true", "false"};
+
+    /** Descriptions of the properties */
+    private static final Map<String, String> DESCRIPTIONS;
+
+    /** Valid values of the properties which have a fixed set of them */
+    private static final Map<String, String[]> CHOICES;
+
+    static {
+        Map<String, String> descriptions = new LinkedHashMap<>();
+        Map<String, String[]> choices = new HashMap<>();
+        commonProperties(descriptions);
+        sslProperties(descriptions, choices);
+        gcpProperties(descriptions, choices);
+        awsProperties(descriptions, choices);
+        azureProperties(descriptions, choices);
+        k8sProperties(descriptions);
+        miscProperties(descriptions, choices);
+        tuningProperties(descriptions, choices);
+        DESCRIPTIONS = Collections.unmodifiableMap(descriptions);
+        CHOICES = Collections.unmodifiableMap(choices);
+    }
+
+    private DriverProperties() {
+    }
+
+    /**
+     * @param values the values given in the URL and {@code Properties}
+     */
+    static DriverPropertyInfo[] describe(Properties values) {
+        DriverPropertyInfo[] result = new DriverPropertyInfo[DESCRIPTIONS.size()];
+        int i = 0;
+        for (Map.Entry<String, String> property : DESCRIPTIONS.entrySet()) {
+            DriverPropertyInfo propertyInfo = new DriverPropertyInfo(property.getKey(),
+                    values.getProperty(property.getKey()));
+            propertyInfo.description = property.getValue();
+            String[] choices = CHOICES.get(property.getKey());
+            propertyInfo.choices = choices == null ? null : choices.clone();
+            result[i++] = propertyInfo;
+        }
+        return result;
+    }
+
+    private static void commonProperties(Map<String, String> descriptions) {
+        descriptions.put("user", "Hazelcast cluster username");
+        descriptions.put("password", "Hazelcast cluster password");
+        descriptions.put("clusterName", "Hazelcast cluster name");
+        descriptions.put("discoveryToken", "Hazelcast Cloud discovery token");
+        descriptions.put("cloudUrl", "Hazelcast Cloud URL");
+    }
+
+    private static void sslProperties(Map<String, String> descriptions, Map<String, String[]> choices) {
+        descriptions.put("sslEnabled", "Enable SSL for client connection");
+        choices.put("sslEnabled", BOOLEAN);
+        descriptions.put("trustStore", "Path to truststore file, alias for trustCertCollectionFile");
+        descriptions.put("trustCertCollectionFile", "Path to truststore file, alias for trustStore");
+        descriptions.put("trustStorePassword", "Password to unlock the truststore file");
+        descriptions.put("keyStore", "Path to your keystore file");
+        descriptions.put("keyFile", "Path to your keystore file");
+        descriptions.put("keyStorePassword", "Password to access the key from your keystore file");
+        descriptions.put("protocol", "Name of the algorithm which is used in your TLS/SSL, TLS by default");
+        descriptions.put("keyCertChainFile", "Path to an X.509 certificate chain file in PEM format");
+        descriptions.put("factoryClassName", "Fully qualified class name for the implementation of SSLContextFactory");
+    }
+
+    private static void gcpProperties(Map<String, String> descriptions, Map<String, String[]> choices) {
+        descriptions.put("gcpPrivateKeyPath", "Path to the private key for GCP service account in the JSON format");
+        descriptions.put("gcpHzPort", "Range of ports where the plugin looks for Hazelcast members");
+        descriptions.put("gcpProjects", "List of projects where the plugin looks for instances");
+        descriptions.put("gcpRegion", "Region where the plugin looks for instances");
+        descriptions.put("gcpLabel", "Filter to look only for instances labeled as specified, in the key=value format");
+        descriptions.put("gcpUsePublicIp", "Use public IP Address");
+        choices.put("gcpUsePublicIp", BOOLEAN);
+    }
+
+    private static void awsProperties(Map<String, String> descriptions, Map<String, String[]> choices) {
+        descriptions.put("awsAccessKey", "Access key of your AWS account");
+        descriptions.put("awsSecretKey", "Secret key of your AWS account");
+        descriptions.put("awsIamRole", "IAM Role attached to EC2 instance used to fetch credentials");
+        descriptions.put("awsTagKey", "Filter to look only for EC2 Instances with the given tag keys");
+        descriptions.put("awsTagValue", "Filter to look only for EC2 Instances with the given tag values");
+        descriptions.put("awsRegion", "Region where Hazelcast members are running");
+        descriptions.put("awsHostHeader", "ec2, ecs, or the URL of a EC2/ECS API endpoint");
+        descriptions.put("awsSecurityGroupName", "Filter to look only for EC2 instances with the given security group");
+        descriptions.put("awsConnectionTimeoutSeconds", "Connection timeout when making a call to AWS API");
+        descriptions.put("awsReadTimeoutSeconds", "Read timeout when making a call to AWS API");
+        descriptions.put("awsConnectionRetries", "Number of retries while connecting to AWS API");
+        descriptions.put("awsHzPort", "Range of ports where the plugin looks for Hazelcast members");
+        descriptions.put("awsUsePublicIp", "Use public IP Address");
+        choices.put("awsUsePublicIp", BOOLEAN);
+    }
+
+    private static void azureProperties(Map<String, String> descriptions, Map<String, String[]> choices) {
+        descriptions.put("azureInstanceMetadataAvailable", "Must be false to use the Azure properties");
+        choices.put("azureInstanceMetadataAvailable", BOOLEAN);
+        descriptions.put("azureClientId", "Azure Active Directory Service Principal client ID");
+        descriptions.put("azureClientSecret", "Azure Active Directory Service Principal client secret");
+        descriptions.put("azureTenantId", "Azure Active Directory tenant ID");
+        descriptions.put("azureSubscriptionId", "Azure subscription ID");
+        descriptions.put("azureResourceGroup", "Name of Azure resource group which the Hazelcast instance is running in");
+        descriptions.put("azureScaleSet", "Name of Azure VM scale set to search for instances in");
+        descriptions.put("azureUsePublicIp", "Use public IP Address");
+        choices.put("azureUsePublicIp", BOOLEAN);
+    }
+
+    private static void k8sProperties(Map<String, String> descriptions) {
+        descriptions.put("k8sServiceDns", "Service DNS, usually in the form of SERVICE-NAME.NAMESPACE.svc.cluster.local");
+        descriptions.put("k8sServiceDnsTimeout", "Custom time for how long the DNS lookup is valid");
+        descriptions.put("k8sNamespace", "Kubernetes namespace where Hazelcast is running");
+        descriptions.put("k8sServiceName", "Service name used to scan only PODs connected to the given service");
+        descriptions.put("k8sServicePort", "Endpoint port of the service");
+    }
+
+    private static void miscProperties(Map<String, String> descriptions, Map<String, String[]> choices) {
+        descriptions.put("smartRouting", "Whether the client connects to all members");
+        choices.put("smartRouting", BOOLEAN);
+        descriptions.put("resubmissionMode", "Strategy to retry failed queries");
+        choices.put("resubmissionMode", new String[]{"NEVER", "RETRY_SELECTS", "RETRY_SELECTS_ALLOW_DUPLICATES",
+                "RETRY_ALL"});
+        descriptions.put("loadBalancer", "Member coordinating the statements without a partition argument");
+        choices.put("loadBalancer", new String[]{"roundRobin", "random", "leastInFlight"});
+        descriptions.put("autoParameterize", "Whether literals in queries are replaced with parameters");
+        choices.put("autoParameterize", BOOLEAN);
+        descriptions.put("sqlCursorBufferSize", "Number of rows fetched at once, used for statements without a fetch size");
+        descriptions.put("metadataCacheTtlSeconds", "Time for which results of DatabaseMetaData methods are cached");
+        descriptions.put("catalogSnapshot", "Whether all tables and columns are loaded by the first metadata call");
+        choices.put("catalogSnapshot", BOOLEAN);
+        descriptions.put("pointLookupBatchWindowMicros", "Time the first of concurrent key lookups waits for others "
+                + "to join its batch");
+        descriptions.put("pointLookupBatchSize", "Maximum number of keys in one batched lookup");
+        descriptions.put("singleFlight", "Whether identical concurrent queries share one execution");
+        choices.put("singleFlight", BOOLEAN);
+        descriptions.put("hedgeDelayMillis", "Time after which a query without rows is also sent to another member");
+        descriptions.put("hedgeBudgetPercent", "Maximum percentage of the queries executed again by hedging");
+        descriptions.put("maxConcurrentQueries", "Maximum number of statements executed at the same time");
+        descriptions.put("maxConcurrentBatchQueries", "Maximum number of batch statements executed at the same time");
+        descriptions.put("maxQueuedQueries", "Maximum number of statements of each workload class waiting for admission");
+        descriptions.put("workloadClass", "Workload class of the statements of the connection");
+        choices.put("workloadClass", new String[]{"interactive", "batch"});
+        descriptions.put("writeBehind", "Whether updates are executed asynchronously");
+        choices.put("writeBehind", BOOLEAN);
+        descriptions.put("writeBehindMaxPending", "Maximum number of asynchronous updates queued or executing");
+        descriptions.put("bufferWrites", "Whether updates are buffered until commit while auto-commit is disabled");
+        choices.put("bufferWrites", BOOLEAN);
+        descriptions.put("memberAddressCache", "Whether the addresses of discovered members are reused by new connections");
+        choices.put("memberAddressCache", BOOLEAN);
+        descriptions.put("pingOnValidate", "Whether Connection.isValid() executes a query in the cluster");
+        choices.put("pingOnValidate", BOOLEAN);
+        descriptions.put("validationCacheMillis", "Time for which a successful ping of isValid() is reused");
+    }
+
+    private static void tuningProperties(Map<String, String> descriptions, Map<String, String[]> choices) {
+        descriptions.put("responseThreadCount", "Number of threads processing responses");
+        descriptions.put("responseThreadDynamic", "Whether responses are processed on the IO threads while the load is low");
+        choices.put("responseThreadDynamic", BOOLEAN);
+        descriptions.put("eventThreadCount", "Number of threads processing events");
+        descriptions.put("eventQueueCapacity", "Capacity of the queue of events waiting for an event thread");
+        descriptions.put("invocationTimeoutSeconds", "Time after which a request to the cluster fails if it can't be "
+                + "completed");
+        descriptions.put("maxConcurrentInvocations", "Maximum number of concurrent requests, further requests wait for "
+                + "a free slot");
+        descriptions.put("invocationBackoffTimeoutMillis", "Time a request waits for a free slot before failing, "
+                + "-1 to fail immediately");
+        descriptions.put("socketBufferSizeKb", "Size of the socket send and receive buffers, in kilobytes");
+        descriptions.put("tcpNoDelay", "Whether Nagle's algorithm is disabled on the connections to the cluster");
+        choices.put("tcpNoDelay", BOOLEAN);
+        descriptions.put("heartbeatIntervalMillis", "Interval of heartbeats sent to idle connections");
+        descriptions.put("heartbeatTimeoutMillis", "Time without a message after which a connection is closed");
+        descriptions.put("fastConnect", "Whether the setup a short-lived connection doesn't need is skipped, "
+                + "such as connections to all members and metrics");
+        choices.put("fastConnect", BOOLEAN);
+        descriptions.put("asyncStart", "Whether the connection is created without waiting for the cluster to be reachable");
+        choices.put("asyncStart", BOOLEAN);
+    }
+}
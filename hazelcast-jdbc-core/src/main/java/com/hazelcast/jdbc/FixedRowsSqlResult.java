@@ -15,15 +15,18 @@
  */
 package com.hazelcast.jdbc;
 
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
 import com.hazelcast.sql.SqlRow;
 import com.hazelcast.sql.SqlRowMetadata;
 import com.hazelcast.sql.impl.AbstractSqlResult;
 import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.QueryId;
 import com.hazelcast.sql.impl.ResultIterator;
+import com.hazelcast.sql.impl.SqlRowImpl;
+import com.hazelcast.sql.impl.row.JetSqlRow;
 
 import java.util.Iterator;
-import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -32,13 +35,29 @@ import java.util.concurrent.TimeUnit;
  */
 public class FixedRowsSqlResult extends AbstractSqlResult {
 
-    private final List<SqlRow> rows;
+    /** Only required by the row implementation, the values of the rows are never serialized */
+    private static final SerializationService SERIALIZATION_SERVICE = new DefaultSerializationServiceBuilder().build();
+
+    private final Iterable<SqlRow> rows;
     private final QueryId queryId = new QueryId();
     private final SqlRowMetadata sqlRowMetadata;
+    private final int partitionArgumentIndex;
+
+    /**
+     * @param rows rows of the result, iterated lazily when the result is read
+     */
+    FixedRowsSqlResult(SqlRowMetadata sqlRowMetadata, Iterable<SqlRow> rows) {
+        this(sqlRowMetadata, rows, -1);
+    }
 
-    FixedRowsSqlResult(SqlRowMetadata sqlRowMetadata, List<SqlRow> rows) {
+    /**
+     * @param partitionArgumentIndex partition argument index reported by the cluster for the
+     *                               query whose rows the result holds
+     */
+    FixedRowsSqlResult(SqlRowMetadata sqlRowMetadata, Iterable<SqlRow> rows, int partitionArgumentIndex) {
         this.rows = rows;
         this.sqlRowMetadata = sqlRowMetadata;
+        this.partitionArgumentIndex = partitionArgumentIndex;
     }
 
     @Override
@@ -48,7 +67,7 @@ public class FixedRowsSqlResult extends AbstractSqlResult {
 
     @Override
     public long updateCount() {
-        return 0;
+        return -1;
     }
 
     @Override
@@ -63,7 +82,7 @@ public class FixedRowsSqlResult extends AbstractSqlResult {
 
     @Override
     public int getPartitionArgumentIndex() {
-        return -1;
+        return partitionArgumentIndex;
     }
 
     @Override
@@ -74,6 +93,20 @@ public class FixedRowsSqlResult extends AbstractSqlResult {
     @Override
     public void close(QueryException exception) { }
 
+    /**
+     * @return a new result over the same rows, with its own cursor
+     */
+    FixedRowsSqlResult copy() {
+        return new FixedRowsSqlResult(sqlRowMetadata, rows, partitionArgumentIndex);
+    }
+
+    /**
+     * Creates a row with the given values. The values are kept as they are, they must not be serialized.
+     */
+    static SqlRow row(SqlRowMetadata sqlRowMetadata, Object[] values) {
+        return new SqlRowImpl(sqlRowMetadata, new JetSqlRow(SERIALIZATION_SERVICE, values));
+    }
+
     private static final class FixedRowsSqlResultIterator implements ResultIterator<SqlRow> {
 
         private final Iterator<SqlRow> iterator;
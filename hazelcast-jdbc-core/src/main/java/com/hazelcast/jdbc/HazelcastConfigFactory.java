@@ -18,6 +18,9 @@ package com.hazelcast.jdbc;
 import com.hazelcast.client.config.ClientConfig;
 import com.hazelcast.client.config.ClientSqlResubmissionMode;
 import com.hazelcast.client.config.ConnectionRetryConfig;
+import com.hazelcast.client.properties.ClientProperty;
+import com.hazelcast.client.util.RandomLB;
+import com.hazelcast.client.util.RoundRobinLB;
 import com.hazelcast.config.SSLConfig;
 import com.hazelcast.security.UsernamePasswordCredentials;
 
@@ -33,6 +36,12 @@ class HazelcastConfigFactory {
     static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 5_000;
     private static final Map<String, BiConsumer<ClientConfig, String>> CONFIGURATION_MAPPING;
 
+    private static final long CONFIG_CHECK_INTERVAL_MILLIS = 1_000;
+
+    /** Configuration from files and overrides, parsed once for all connections */
+    private static final ClientConfigCache BASE_CONFIG = new ClientConfigCache(ClientConfig::load,
+            CONFIG_CHECK_INTERVAL_MILLIS);
+
     static {
         Map<String, BiConsumer<ClientConfig, String>> map = new HashMap<>();
         map.put("clusterName", ClientConfig::setClusterName);
@@ -41,9 +50,51 @@ class HazelcastConfigFactory {
         azureConfigMapping(map);
         sslConfigMapping(map);
         k8sConfigMapping(map);
+        tuningConfigMapping(map);
         CONFIGURATION_MAPPING = Collections.unmodifiableMap(map);
     }
 
+    /**
+     * Skips the setup a short-lived connection running a few statements doesn't benefit from:
+     * the connections to all members (unless {@code smartRouting} is set), the backup
+     * acknowledgement listener, metrics collection and the extra IO threads. Explicit
+     * tuning properties are applied later and take precedence.
+     */
+    private static void fastConnectConfig(ClientConfig clientConfig) {
+        clientConfig.getMetricsConfig().setEnabled(false);
+        clientConfig.setBackupAckToClientEnabled(false);
+        clientConfig.setProperty(ClientProperty.IO_INPUT_THREAD_COUNT.getName(), "1");
+        clientConfig.setProperty(ClientProperty.IO_OUTPUT_THREAD_COUNT.getName(), "1");
+        clientConfig.setProperty(ClientProperty.IO_BALANCER_INTERVAL_SECONDS.getName(), "-1");
+    }
+
+    private static void tuningConfigMapping(Map<String, BiConsumer<ClientConfig, String>> map) {
+        map.put("responseThreadCount", (c, v) -> c.setProperty(ClientProperty.RESPONSE_THREAD_COUNT.getName(),
+                String.valueOf(toInt("responseThreadCount", v, 1))));
+        map.put("responseThreadDynamic", (c, v) -> c.setProperty(ClientProperty.RESPONSE_THREAD_DYNAMIC.getName(),
+                String.valueOf(toBoolean("responseThreadDynamic", v))));
+        map.put("eventThreadCount", (c, v) -> c.setProperty(ClientProperty.EVENT_THREAD_COUNT.getName(),
+                String.valueOf(toInt("eventThreadCount", v, 1))));
+        map.put("eventQueueCapacity", (c, v) -> c.setProperty(ClientProperty.EVENT_QUEUE_CAPACITY.getName(),
+                String.valueOf(toInt("eventQueueCapacity", v, 1))));
+        map.put("invocationTimeoutSeconds", (c, v) -> c.setProperty(ClientProperty.INVOCATION_TIMEOUT_SECONDS.getName(),
+                String.valueOf(toInt("invocationTimeoutSeconds", v, 1))));
+        map.put("maxConcurrentInvocations", (c, v) -> c.setProperty(ClientProperty.MAX_CONCURRENT_INVOCATIONS.getName(),
+                String.valueOf(toInt("maxConcurrentInvocations", v, 1))));
+        map.put("invocationBackoffTimeoutMillis", (c, v) -> c.setProperty(
+                ClientProperty.BACKPRESSURE_BACKOFF_TIMEOUT_MILLIS.getName(),
+                "-1".equals(v.trim()) ? "-1" : String.valueOf(toInt("invocationBackoffTimeoutMillis", v))));
+        map.put("socketBufferSizeKb", (c, v) -> c.getNetworkConfig().getSocketOptions()
+                .setBufferSize(toInt("socketBufferSizeKb", v, 1)));
+        map.put("tcpNoDelay", (c, v) -> c.getNetworkConfig().getSocketOptions()
+                .setTcpNoDelay(toBoolean("tcpNoDelay", v)));
+        map.put("heartbeatIntervalMillis", (c, v) -> c.setProperty(ClientProperty.HEARTBEAT_INTERVAL.getName(),
+                String.valueOf(toInt("heartbeatIntervalMillis", v, 1))));
+        map.put("heartbeatTimeoutMillis", (c, v) -> c.setProperty(ClientProperty.HEARTBEAT_TIMEOUT.getName(),
+                String.valueOf(toInt("heartbeatTimeoutMillis", v, 1))));
+        map.put("asyncStart", (c, v) -> c.getConnectionStrategyConfig().setAsyncStart(toBoolean("asyncStart", v)));
+    }
+
     private static void azureConfigMapping(Map<String, BiConsumer<ClientConfig, String>> map) {
         map.put("azureInstanceMetadataAvailable", (c, p) -> azureConfig(c, "instance-metadata-available", p));
         map.put("azureClientId", (c, p) -> azureConfig(c, "client-id", p));
@@ -103,7 +154,7 @@ class HazelcastConfigFactory {
     }
 
     ClientConfig clientConfig(JdbcUrl url) {
-        ClientConfig clientConfig = ClientConfig.load();
+        ClientConfig clientConfig = BASE_CONFIG.get();
         securityConfig(url, clientConfig);
         String discoveryToken = url.getProperty("discoveryToken");
 
@@ -114,12 +165,18 @@ class HazelcastConfigFactory {
             connectionRetryConfig.setClusterConnectTimeoutMillis(DEFAULT_CONNECT_TIMEOUT_MILLIS);
         }
         clientConfig.getSqlConfig().setResubmissionMode(parseSqlResubmissionMode(url, ClientSqlResubmissionMode.NEVER));
+        loadBalancerConfig(url, clientConfig);
+
+        boolean fastConnect = parseBoolean(url, "fastConnect", false);
+        if (fastConnect) {
+            fastConnectConfig(clientConfig);
+        }
 
         if (discoveryToken != null) {
             cloudConfig(url, clientConfig, discoveryToken);
         } else {
             clientConfig.getNetworkConfig().setAddresses(url.getAuthorities());
-            clientConfig.getNetworkConfig().setSmartRouting(parseBoolean(url, "smartRouting", true));
+            clientConfig.getNetworkConfig().setSmartRouting(parseBoolean(url, "smartRouting", !fastConnect));
         }
 
         CONFIGURATION_MAPPING.forEach((k, v) -> {
@@ -218,11 +275,37 @@ class HazelcastConfigFactory {
         }
     }
 
-    protected static boolean parseBoolean(JdbcUrl url, String key, boolean def) {
-        String value = url.getProperty(key);
+    private static void loadBalancerConfig(JdbcUrl url, ClientConfig clientConfig) {
+        String value = url.getProperty("loadBalancer");
         if (value == null) {
-            return def;
+            return;
         }
+        switch (value) {
+            case "roundRobin":
+                clientConfig.setLoadBalancer(new RoundRobinLB());
+                break;
+            case "random":
+                clientConfig.setLoadBalancer(new RandomLB());
+                break;
+            case "leastInFlight":
+                clientConfig.setLoadBalancer(new LeastInFlightLoadBalancer());
+                break;
+            default:
+                throw new RuntimeException(String.format("'%s' not a valid value for 'loadBalancer'", value));
+        }
+    }
+
+    protected static boolean parseBoolean(JdbcUrl url, String key, boolean def) {
+        String value = url.getProperty(key);
+        return value == null ? def : toBoolean(key, value);
+    }
+
+    protected static int parseInt(JdbcUrl url, String key, int def) {
+        String value = url.getProperty(key);
+        return value == null ? def : toInt(key, value);
+    }
+
+    static boolean toBoolean(String key, String value) {
         if ("true".equalsIgnoreCase(value)) {
             return true;
         }
@@ -233,4 +316,26 @@ class HazelcastConfigFactory {
         String message = String.format("'%s' not boolean, '%s'", key, value);
         throw new RuntimeException(message);
     }
+
+    static int toInt(String key, String value, int min) {
+        int result = toInt(key, value);
+        if (result < min) {
+            String message = String.format("'%s' must be at least %d, '%s'", key, min, value);
+            throw new RuntimeException(message);
+        }
+        return result;
+    }
+
+    static int toInt(String key, String value) {
+        try {
+            int result = Integer.parseInt(value.trim());
+            if (result >= 0) {
+                return result;
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        String message = String.format("'%s' not a non-negative integer, '%s'", key, value);
+        throw new RuntimeException(message);
+    }
 }
@@ -16,35 +16,319 @@
 package com.hazelcast.jdbc;
 
 import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.client.LoadBalancer;
 import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.cluster.Member;
+import com.hazelcast.config.ListenerConfig;
+import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.util.collection.ReadOptimizedLruCache;
+import com.hazelcast.sql.HazelcastSqlException;
 import com.hazelcast.sql.SqlResult;
 import com.hazelcast.sql.SqlStatement;
+import com.hazelcast.sql.impl.SqlErrorCode;
+import com.hazelcast.sql.impl.client.SqlClientService;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 class HazelcastSqlClient {
 
+    private static final int PARTITION_ARGUMENT_INDEX_CACHE_CAPACITY = 1000;
+    private static final int PARTITION_ARGUMENT_INDEX_CACHE_CLEANUP_THRESHOLD = 1100;
+    private static final int DEFAULT_WRITE_BEHIND_MAX_PENDING = 64;
+    private static final int DEFAULT_VALIDATION_CACHE_MILLIS = 1000;
+
+    /** The client, or the member for an embedded connection */
     private final HazelcastInstance client;
+    private final boolean embedded;
+    /** Connection of the client to the cluster, {@code null} for an embedded connection */
+    private final ClusterReadiness readiness;
+    private final boolean asyncStart;
+    /** Time for which a successful {@link #isAlive} check is reused */
+    private final long validationCacheNanos;
+    private final boolean pingOnValidate;
+    private volatile long validUntilNanos;
+    private volatile int networkTimeoutMillis;
+    private volatile Executor networkTimeoutExecutor;
+    private volatile Runnable networkTimeoutHandler;
+    /** Balancer picking the coordinator of statements without a partition argument, {@code null} unless configured */
+    private final LoadBalancer loadBalancer;
     private final JdbcUrl jdbcUrl;
+    private final boolean autoParameterize;
+    private final int defaultCursorBufferSize;
+    private final WorkloadClass defaultWorkloadClass;
+    private final ConnectionGroup connectionGroup;
+    private final WriteBehind writeBehind;
+    private final WriteBuffer writeBuffer;
+    /** Executor of the statements of the connection executed concurrently */
+    private final ExecutorService pipeline = SqlScript.newPipeline();
+
+    /** Partition argument indexes reported by the cluster for executed statements, by SQL */
+    private final ReadOptimizedLruCache<String, Integer> partitionArgumentIndexes = new ReadOptimizedLruCache<>(
+            PARTITION_ARGUMENT_INDEX_CACHE_CAPACITY, PARTITION_ARGUMENT_INDEX_CACHE_CLEANUP_THRESHOLD);
 
     HazelcastSqlClient(JdbcUrl url) {
         jdbcUrl = url;
-        HazelcastConfigFactory configFactory = new HazelcastConfigFactory();
-        ClientConfig clientConfig = configFactory.clientConfig(url);
-        client = HazelcastClient.newHazelcastClient(clientConfig);
+        autoParameterize = HazelcastConfigFactory.parseBoolean(url, "autoParameterize", false);
+        String cursorBufferSize = url.getProperty("sqlCursorBufferSize");
+        defaultCursorBufferSize = cursorBufferSize == null
+                ? 0
+                : HazelcastConfigFactory.toInt("sqlCursorBufferSize", cursorBufferSize, 1);
+        String workloadClass = url.getProperty("workloadClass");
+        defaultWorkloadClass = workloadClass == null
+                ? WorkloadClass.INTERACTIVE
+                : WorkloadClass.parse("workloadClass", workloadClass);
+        boolean writeBehindEnabled = HazelcastConfigFactory.parseBoolean(url, "writeBehind", false);
+        writeBuffer = HazelcastConfigFactory.parseBoolean(url, "bufferWrites", false) ? new WriteBuffer() : null;
+        int writeBehindMaxPending = HazelcastConfigFactory.parseInt(url, "writeBehindMaxPending",
+                DEFAULT_WRITE_BEHIND_MAX_PENDING);
+        if (writeBehindMaxPending == 0) {
+            throw new RuntimeException("'writeBehindMaxPending' must be positive");
+        }
+        validationCacheNanos = MILLISECONDS.toNanos(HazelcastConfigFactory.parseInt(url, "validationCacheMillis",
+                DEFAULT_VALIDATION_CACHE_MILLIS));
+        pingOnValidate = HazelcastConfigFactory.parseBoolean(url, "pingOnValidate", false);
+        validUntilNanos = System.nanoTime();
+        embedded = url.isEmbedded();
+        if (embedded) {
+            client = Hazelcast.getHazelcastInstanceByName(url.getRawAuthority());
+            if (client == null) {
+                throw new IllegalArgumentException("No Hazelcast instance named '" + url.getRawAuthority()
+                        + "' is running in this JVM");
+            }
+            connectionGroup = ConnectionGroup.acquire(url);
+            readiness = null;
+            asyncStart = false;
+            loadBalancer = null;
+        } else {
+            HazelcastConfigFactory configFactory = new HazelcastConfigFactory();
+            ClientConfig clientConfig = configFactory.clientConfig(url);
+            asyncStart = clientConfig.getConnectionStrategyConfig().isAsyncStart();
+            loadBalancer = clientConfig.getLoadBalancer();
+            readiness = new ClusterReadiness(clientConfig.getConnectionStrategyConfig().getConnectionRetryConfig()
+                    .getClusterConnectTimeoutMillis());
+            clientConfig.addListenerConfig(new ListenerConfig(readiness));
+            connectionGroup = ConnectionGroup.acquire(url);
+            try {
+                client = HazelcastConfigFactory.parseBoolean(url, "memberAddressCache", false)
+                        ? MemberAddressCache.newClient(url, clientConfig, HazelcastClient::newHazelcastClient)
+                        : HazelcastClient.newHazelcastClient(clientConfig);
+            } catch (RuntimeException e) {
+                connectionGroup.release();
+                throw e;
+            }
+        }
+        writeBehind = writeBehindEnabled ? new WriteBehind(writeBehindMaxPending) : null;
     }
 
+    /**
+     * Executes the statement. While a network timeout is set, the statement is executed on the
+     * network timeout executor and the caller waits for it at most for the timeout. If a load
+     * balancer is configured, a statement without a partition argument is coordinated by the
+     * member the balancer picks, and the least-in-flight balancer counts the statements until
+     * their first page arrives.
+     */
     SqlResult execute(SqlStatement sqlStatement) {
-        return client.getSql().execute(sqlStatement);
+        if (loadBalancer == null) {
+            return executeWithNetworkTimeout(() -> client.getSql().execute(sqlStatement));
+        }
+        Member coordinator = getPartitionOwner(sqlStatement);
+        MemberQuery query = null;
+        if (coordinator == null) {
+            Member picked = pickCoordinator();
+            query = picked == null ? null : newMemberQuery(picked, sqlStatement);
+            // without a connection to the picked member, the SQL service picks the coordinator
+            coordinator = query == null ? null : picked;
+        }
+        Supplier<SqlResult> execution = query == null ? () -> client.getSql().execute(sqlStatement) : query::execute;
+        if (coordinator == null || !(loadBalancer instanceof LeastInFlightLoadBalancer)) {
+            return executeWithNetworkTimeout(execution);
+        }
+        LeastInFlightLoadBalancer leastInFlight = (LeastInFlightLoadBalancer) loadBalancer;
+        leastInFlight.started(coordinator);
+        try {
+            return executeWithNetworkTimeout(execution);
+        } finally {
+            leastInFlight.finished(coordinator);
+        }
+    }
+
+    /**
+     * @return the data member the load balancer picks, or {@code null} if it picks no data member
+     */
+    private Member pickCoordinator() {
+        // lite members don't coordinate queries, skip them as the balancers may pick any member
+        int members = client.getCluster().getMembers().size();
+        for (int i = 0; i < members; i++) {
+            Member picked = loadBalancer.next();
+            if (picked == null || !picked.isLiteMember()) {
+                return picked;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the owner of the partition of the partition argument, which coordinates the
+     * statement, or {@code null} if the statement isn't routed by a partition argument. Unless
+     * set on the statement, the partition argument is the one the cluster reported to the SQL
+     * service of the client for an earlier execution of the same SQL.
+     */
+    Member getPartitionOwner(SqlStatement sqlStatement) {
+        int index = sqlStatement.getPartitionArgumentIndex();
+        if (index < 0 && client.getSql() instanceof SqlClientService) {
+            Integer reported = ((SqlClientService) client.getSql()).partitionArgumentIndexCache
+                    .get(sqlStatement.getSql());
+            index = reported == null ? -1 : reported;
+        }
+        List<Object> parameters = sqlStatement.getParameters();
+        if (index < 0 || index >= parameters.size() || parameters.get(index) == null) {
+            return null;
+        }
+        return client.getPartitionService().getPartition(parameters.get(index)).getOwner();
+    }
+
+    /**
+     * @return the data members of the cluster, which may coordinate queries
+     */
+    List<Member> getQueryMembers() {
+        List<Member> members = new ArrayList<>();
+        for (Member member : client.getCluster().getMembers()) {
+            if (!member.isLiteMember()) {
+                members.add(member);
+            }
+        }
+        return members;
+    }
+
+    /**
+     * @return the statement to be coordinated by the given member, or {@code null} if the
+     * connection is embedded or the client isn't connected to the member
+     */
+    MemberQuery newMemberQuery(Member member, SqlStatement sqlStatement) {
+        return MemberQuery.create(client, member, sqlStatement);
+    }
+
+    private SqlResult executeWithNetworkTimeout(Supplier<SqlResult> execution) {
+        int timeoutMillis = networkTimeoutMillis;
+        if (timeoutMillis == 0) {
+            return execution.get();
+        }
+        CompletableFuture<SqlResult> result = CompletableFuture.supplyAsync(execution, networkTimeoutExecutor);
+        try {
+            return result.get(timeoutMillis, MILLISECONDS);
+        } catch (TimeoutException e) {
+            // the result arriving after the timeout is not read by anyone
+            result.thenAccept(SqlResult::close);
+            networkTimeoutExpired();
+            throw new HazelcastSqlException(null, SqlErrorCode.TIMEOUT,
+                    "Network timeout of " + timeoutMillis + " ms expired", e, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.thenAccept(SqlResult::close);
+            throw new HazelcastSqlException(null, SqlErrorCode.CANCELLED_BY_USER, "Interrupted", e, null);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new HazelcastSqlException(null, SqlErrorCode.GENERIC, e.getCause().getMessage(), e.getCause(), null);
+        }
+    }
+
+    /**
+     * Sets the time blocking calls to the cluster may take, {@code 0} for no limit.
+     *
+     * @param executor executor of the calls, the caller waits for them
+     * @param onExpiry called when a call takes longer than the timeout
+     */
+    void setNetworkTimeout(Executor executor, int timeoutMillis, Runnable onExpiry) {
+        networkTimeoutExecutor = executor;
+        networkTimeoutHandler = onExpiry;
+        networkTimeoutMillis = timeoutMillis;
+    }
+
+    int getNetworkTimeoutMillis() {
+        return networkTimeoutMillis;
+    }
+
+    /**
+     * Reports a call to the cluster which didn't complete within the network timeout.
+     */
+    void networkTimeoutExpired() {
+        Runnable handler = networkTimeoutHandler;
+        if (handler != null) {
+            handler.run();
+        }
+    }
+
+    /**
+     * Waits until a client started asynchronously connects to the cluster, returns immediately
+     * for other clients.
+     *
+     * @param timeoutMillis maximum time to wait, {@code 0} to use the cluster connect timeout
+     */
+    void awaitReady(long timeoutMillis) throws SQLException {
+        if (asyncStart) {
+            readiness.await(timeoutMillis);
+        }
     }
 
     void shutdown() {
-        client.shutdown();
+        SqlScript.shutdown(pipeline);
+        try {
+            // an embedded instance belongs to the application
+            if (!embedded) {
+                client.shutdown();
+            }
+        } finally {
+            connectionGroup.release();
+        }
     }
 
     boolean isRunning() {
         return client.getLifecycleService().isRunning();
     }
 
+    /**
+     * Checks that the client is running and connected to the cluster, and if {@code pingOnValidate}
+     * is enabled, that the cluster executes a trivial query. A successful check is reused for
+     * {@code validationCacheMillis}, but a lost connection is reported immediately.
+     *
+     * @param timeoutSeconds maximum time of the ping, {@code 0} for no limit
+     */
+    boolean isAlive(int timeoutSeconds) {
+        if (!isRunning() || (readiness != null && !readiness.isConnected())) {
+            validUntilNanos = System.nanoTime();
+            return false;
+        }
+        if (!pingOnValidate || System.nanoTime() - validUntilNanos < 0) {
+            return true;
+        }
+        SqlStatement ping = new SqlStatement("SELECT 1");
+        if (timeoutSeconds > 0) {
+            ping.setTimeoutMillis(SECONDS.toMillis(timeoutSeconds));
+        }
+        try (SqlResult result = client.getSql().execute(ping)) {
+            result.iterator().next();
+        } catch (RuntimeException e) {
+            return false;
+        }
+        validUntilNanos = System.nanoTime() + validationCacheNanos;
+        return true;
+    }
+
     HazelcastInstance getClient() {
         return client;
     }
@@ -52,4 +336,110 @@ class HazelcastSqlClient {
     JdbcUrl getJdbcUrl() {
         return jdbcUrl;
     }
+
+    /**
+     * @return whether literals in statements without parameters should be replaced with
+     * dynamic parameters, see {@link SqlLiteralParameterizer}
+     */
+    boolean isAutoParameterize() {
+        return autoParameterize;
+    }
+
+    /**
+     * @return the cursor buffer size of statements without a fetch size, {@code 0} to use
+     * the default of the cluster
+     */
+    int getDefaultCursorBufferSize() {
+        return defaultCursorBufferSize;
+    }
+
+    /**
+     * @return the executor of the statements of the connection executed concurrently
+     */
+    Executor getPipeline() {
+        return pipeline;
+    }
+
+    /**
+     * @return the asynchronous executor of updates, or {@code null} if updates are executed synchronously
+     */
+    WriteBehind getWriteBehind() {
+        return writeBehind;
+    }
+
+    /**
+     * @return the buffer of updates issued while auto-commit is disabled, or {@code null}
+     * if such updates are executed immediately
+     */
+    WriteBuffer getWriteBuffer() {
+        return writeBuffer;
+    }
+
+    MetadataCache getMetadataCache() {
+        return connectionGroup.getMetadataCache();
+    }
+
+    boolean isCatalogSnapshot() {
+        return connectionGroup.isCatalogSnapshot();
+    }
+
+    /**
+     * @return the batcher for key lookups shared by the connections of the group, or
+     * {@code null} if batching is disabled
+     */
+    PointLookupBatcher getPointLookupBatcher() {
+        return connectionGroup.getPointLookupBatcher();
+    }
+
+    /**
+     * @return the deduplication of concurrent identical queries shared by the connections
+     * of the group, or {@code null} if it's disabled
+     */
+    SingleFlight getSingleFlight() {
+        return connectionGroup.getSingleFlight();
+    }
+
+    /**
+     * @return the hedging of slow queries shared by the connections of the group, or
+     * {@code null} if it's disabled
+     */
+    HedgedExecution getHedgedExecution() {
+        return connectionGroup.getHedgedExecution();
+    }
+
+    /**
+     * @return the limit of concurrent queries shared by the connections of the group, or
+     * {@code null} if the queries aren't limited
+     */
+    AdmissionControl getAdmissionControl() {
+        return connectionGroup.getAdmissionControl();
+    }
+
+    /**
+     * @return the workload class of the connections, unless set on the connection or statement
+     */
+    WorkloadClass getDefaultWorkloadClass() {
+        return defaultWorkloadClass;
+    }
+
+    /**
+     * Discards cached metadata of all connections in the group, called after a statement
+     * which might have changed the schema.
+     */
+    void invalidateMetadata() {
+        connectionGroup.getMetadataCache().invalidate();
+    }
+
+    /**
+     * @return the index of the parameter which determines the partition of the statement,
+     * {@code -1} if it isn't partition-local, or empty if the statement wasn't executed yet
+     */
+    OptionalInt getPartitionArgumentIndex(String sql) {
+        Integer index = partitionArgumentIndexes.get(sql);
+        return index == null ? OptionalInt.empty() : OptionalInt.of(index);
+    }
+
+    void setPartitionArgumentIndex(String sql, int index) {
+        partitionArgumentIndexes.put(sql, index);
+    }
 }
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.sql.HazelcastSqlException;
+import com.hazelcast.sql.SqlExpectedResultType;
+import com.hazelcast.sql.SqlResult;
+import com.hazelcast.sql.SqlStatement;
+import com.hazelcast.sql.impl.SqlErrorCode;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Hedges slow queries. The query is sent to its coordinator by the caller. If its first page
+ * doesn't arrive within the delay, the query is also sent to a different member, and the
+ * result arriving first is used. The other query is cancelled as soon as the first result
+ * arrives.
+ * <p>
+ * The duplicated work is limited by a budget: every query earns {@code budgetPercent} percent
+ * of a hedge, and a query is hedged only if a whole hedge was earned. The first slow query may
+ * be hedged right away.
+ */
+final class HedgedExecution {
+
+    private static final int HEDGE_COST = 100;
+    /** Hedges which may be saved up for a burst of slow queries. */
+    private static final int MAX_SAVED_HEDGES = 10;
+
+    private final long delayMillis;
+    private final int budgetPercent;
+    private final AtomicInteger budget = new AtomicInteger(HEDGE_COST);
+
+    HedgedExecution(long delayMillis, int budgetPercent) {
+        this.delayMillis = delayMillis;
+        this.budgetPercent = budgetPercent;
+    }
+
+    /**
+     * @return whether the statement is a read-only query, which may be executed twice
+     */
+    static boolean isHedgeable(SqlStatement statement) {
+        if (statement.getExpectedResultType() == SqlExpectedResultType.UPDATE_COUNT) {
+            return false;
+        }
+        String keyword = SqlTokenizer.firstKeyword(statement.getSql());
+        return "SELECT".equals(keyword) || "WITH".equals(keyword);
+    }
+
+    /**
+     * Executes the query, coordinated by the owner of its partition argument, or by a random
+     * member if it has none. Queries which can't be sent to a chosen member, for example the
+     * queries of an embedded connection, are executed without hedging.
+     */
+    SqlResult execute(HazelcastSqlClient client, SqlStatement statement) throws SQLException {
+        budget.accumulateAndGet(budgetPercent, (saved, earned) -> Math.min(saved + earned,
+                MAX_SAVED_HEDGES * HEDGE_COST));
+        List<Member> members = client.getQueryMembers();
+        Collections.shuffle(members);
+        Member coordinator = client.getPartitionOwner(statement);
+        if (coordinator == null && !members.isEmpty()) {
+            coordinator = members.get(0);
+        }
+        MemberQuery primary = coordinator == null ? null : client.newMemberQuery(coordinator, statement);
+        if (primary == null) {
+            return client.execute(statement);
+        }
+        CompletableFuture<SqlResult> primaryResult = primary.start();
+        SqlResult result = await(client, primaryResult, delayMillis, primary);
+        if (result != null) {
+            return result;
+        }
+        MemberQuery hedge = acquireHedge() ? newHedge(client, statement, members, coordinator) : null;
+        if (hedge == null) {
+            return await(client, primaryResult, -1, primary);
+        }
+
+        CompletableFuture<SqlResult> first = new CompletableFuture<>();
+        CompletableFuture<SqlResult> hedgeResult = hedge.start();
+        AtomicBoolean decided = new AtomicBoolean();
+        AtomicInteger failures = new AtomicInteger();
+        race(primaryResult, hedge, first, decided, failures, primaryResult);
+        race(hedgeResult, primary, first, decided, failures, primaryResult);
+        return await(client, first, -1, primary, hedge);
+    }
+
+    /**
+     * @return the query to be sent to a member other than the coordinator, or {@code null} if the
+     * client isn't connected to any other member
+     */
+    private MemberQuery newHedge(HazelcastSqlClient client, SqlStatement statement, List<Member> members,
+                                 Member coordinator) {
+        for (Member member : members) {
+            if (!member.getUuid().equals(coordinator.getUuid())) {
+                MemberQuery hedge = client.newMemberQuery(member, statement);
+                if (hedge != null) {
+                    return hedge;
+                }
+            }
+        }
+        // the hedge wasn't sent
+        budget.addAndGet(HEDGE_COST);
+        return null;
+    }
+
+    /**
+     * Cancels the other query and completes {@code first} with the attempt if it succeeds
+     * first, or closes the result of the attempt if the other one won.
+     */
+    private static void race(CompletableFuture<SqlResult> attempt, MemberQuery other,
+                             CompletableFuture<SqlResult> first, AtomicBoolean decided, AtomicInteger failures,
+                             CompletableFuture<SqlResult> primaryResult) {
+        attempt.whenComplete((attemptResult, error) -> {
+            if (error == null) {
+                if (decided.compareAndSet(false, true)) {
+                    other.cancel();
+                    first.complete(attemptResult);
+                } else {
+                    attemptResult.close();
+                }
+            } else if (failures.incrementAndGet() == 2) {
+                // report the error of the query as it was executed
+                primaryResult.whenComplete((r, primaryError) -> first.completeExceptionally(primaryError));
+            }
+        });
+    }
+
+    private boolean acquireHedge() {
+        int saved;
+        do {
+            saved = budget.get();
+            if (saved < HEDGE_COST) {
+                return false;
+            }
+        } while (!budget.compareAndSet(saved, saved - HEDGE_COST));
+        return true;
+    }
+
+    /**
+     * Waits for the result. The queries are cancelled if the caller is interrupted or the
+     * network timeout of the client expires.
+     *
+     * @param timeoutMillis maximum time to wait, negative to wait until the network timeout
+     * @return the result, or {@code null} if it didn't arrive within {@code timeoutMillis}
+     */
+    private static SqlResult await(HazelcastSqlClient client, CompletableFuture<SqlResult> result,
+                                   long timeoutMillis, MemberQuery... queries) throws SQLException {
+        int networkTimeoutMillis = client.getNetworkTimeoutMillis();
+        try {
+            if (timeoutMillis >= 0) {
+                return result.get(timeoutMillis, MILLISECONDS);
+            }
+            return networkTimeoutMillis == 0 ? result.get() : result.get(networkTimeoutMillis, MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (timeoutMillis >= 0) {
+                return null;
+            }
+            cancel(queries);
+            client.networkTimeoutExpired();
+            throw new HazelcastSqlException(null, SqlErrorCode.TIMEOUT,
+                    "Network timeout of " + networkTimeoutMillis + " ms expired", e, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(queries);
+            throw new SQLException("Interrupted while executing the query", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new SQLException(cause.getMessage(), cause);
+        }
+    }
+
+    private static void cancel(MemberQuery... queries) {
+        for (MemberQuery query : queries) {
+            query.cancel();
+        }
+    }
+}
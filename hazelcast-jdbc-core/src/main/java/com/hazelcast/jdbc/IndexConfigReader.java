@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import com.hazelcast.client.impl.clientside.HazelcastClientProxy;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.MCGetMapConfigCodec;
+import com.hazelcast.client.impl.spi.impl.ClientInvocation;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.HazelcastInstance;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reads the index configuration of an IMap. A client can't read the cluster
+ * configuration through {@link HazelcastInstance#getConfig()}, so the driver uses the
+ * request which Management Center uses to display map configurations.
+ */
+final class IndexConfigReader {
+
+    private static final Logger LOGGER = Logger.getLogger(IndexConfigReader.class.getName());
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private IndexConfigReader() {
+    }
+
+    /**
+     * @return index configurations of the map, or an empty list if they can't be read,
+     * for example because the cluster doesn't trust the client's address for management requests
+     */
+    static List<IndexConfig> read(HazelcastInstance instance, String mapName) {
+        try {
+            if (instance instanceof HazelcastClientProxy) {
+                ClientMessage request = MCGetMapConfigCodec.encodeRequest(mapName);
+                ClientInvocation invocation = new ClientInvocation(((HazelcastClientProxy) instance).client, request, mapName);
+                ClientMessage response = invocation.invoke().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                MCGetMapConfigCodec.ResponseParameters parameters = MCGetMapConfigCodec.decodeResponse(response);
+                return parameters.isGlobalIndexesExists && parameters.globalIndexes != null
+                        ? parameters.globalIndexes
+                        : Collections.emptyList();
+            }
+            MapConfig mapConfig = instance.getConfig().findMapConfig(mapName);
+            return mapConfig.getIndexConfigs();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException | RuntimeException e) {
+            LOGGER.log(Level.FINE, "Cannot read index configuration of map " + mapName, e);
+        }
+        return Collections.emptyList();
+    }
+}
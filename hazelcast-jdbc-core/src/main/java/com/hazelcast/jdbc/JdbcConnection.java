@@ -17,6 +17,7 @@ package com.hazelcast.jdbc;
 
 import com.hazelcast.core.HazelcastInstance;
 
+import java.math.BigInteger;
 import java.sql.Array;
 import java.sql.Blob;
 import java.sql.CallableStatement;
@@ -34,14 +35,25 @@ import java.sql.SQLXML;
 import java.sql.Savepoint;
 import java.sql.Statement;
 import java.sql.Struct;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class JdbcConnection implements Connection {
 
+    private static final Logger LOGGER = Logger.getLogger(JdbcConnection.class.getName());
+
     private final HazelcastSqlClient client;
 
     /**
@@ -69,6 +81,21 @@ public class JdbcConnection implements Connection {
      */
     private SQLWarning warnings;
 
+    /**
+     * Database metadata, created on first use
+     */
+    private volatile JdbcDataBaseMetadata metaData;
+
+    /**
+     * Subscriptions to close with the connection
+     */
+    private final Set<QuerySubscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Workload class of the statements, {@code null} for the workload class of the URL
+     */
+    private volatile WorkloadClass workloadClass;
+
     JdbcConnection(HazelcastSqlClient client) {
         this.client = client;
     }
@@ -99,6 +126,10 @@ public class JdbcConnection implements Connection {
     @Override
     public void setAutoCommit(boolean autoCommit) throws SQLException {
         checkClosed();
+        if (autoCommit && !this.autoCommit) {
+            // enabling auto-commit commits the current transaction
+            flushWriteBuffer();
+        }
         this.autoCommit = autoCommit;
     }
 
@@ -114,6 +145,8 @@ public class JdbcConnection implements Connection {
         if (autoCommit) {
             throw new SQLException("Auto-commit is set to true");
         }
+        flushWriteBuffer();
+        flush();
     }
 
     @Override
@@ -122,12 +155,40 @@ public class JdbcConnection implements Connection {
         if (autoCommit) {
             throw new SQLException("Auto-commit is set to true");
         }
+        WriteBuffer writeBuffer = client.getWriteBuffer();
+        if (writeBuffer != null) {
+            writeBuffer.discard();
+        }
     }
 
     @Override
     public void close() {
         if (closed.compareAndSet(false, true)) {
-            client.shutdown();
+            // updates not committed before closing are rolled back
+            WriteBuffer writeBuffer = client.getWriteBuffer();
+            if (writeBuffer != null) {
+                writeBuffer.discard();
+            }
+            WriteBehind writeBehind = client.getWriteBehind();
+            try {
+                for (QuerySubscription subscription : subscriptions) {
+                    try {
+                        subscription.close();
+                    } catch (SQLException e) {
+                        LOGGER.log(Level.WARNING, "Cannot close query subscription", e);
+                    }
+                }
+                if (writeBehind != null) {
+                    try {
+                        writeBehind.close();
+                    } catch (SQLException e) {
+                        // call flush() before close() to handle the failure
+                        LOGGER.log(Level.WARNING, "Asynchronous update failed before the connection was closed", e);
+                    }
+                }
+            } finally {
+                client.shutdown();
+            }
         }
     }
 
@@ -138,7 +199,12 @@ public class JdbcConnection implements Connection {
 
     @Override
     public DatabaseMetaData getMetaData() {
-        return new JdbcDataBaseMetadata(this);
+        JdbcDataBaseMetadata result = metaData;
+        if (result == null) {
+            result = new JdbcDataBaseMetadata(this);
+            metaData = result;
+        }
+        return result;
     }
 
     @Override
@@ -334,7 +400,7 @@ public class JdbcConnection implements Connection {
         if (timeout < 0) {
             throw new SQLException("Timeout cannot be less than 0");
         }
-        return !isClosed();
+        return !isClosed() && client.isAlive(timeout);
     }
 
     @Override
@@ -395,12 +461,21 @@ public class JdbcConnection implements Connection {
 
     @Override
     public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException {
-        throw JdbcUtils.unsupported("Network timeout is not supported");
+        checkClosed();
+        if (executor == null) {
+            throw new SQLException("Executor cannot be null");
+        }
+        if (milliseconds < 0) {
+            throw new SQLException("Network timeout cannot be less than 0");
+        }
+        // a connection whose call timed out is closed, as the JDBC specification requires
+        client.setNetworkTimeout(executor, milliseconds, () -> executor.execute(this::close));
     }
 
     @Override
     public int getNetworkTimeout() throws SQLException {
-        throw JdbcUtils.unsupported("Network timeout is not supported");
+        checkClosed();
+        return client.getNetworkTimeoutMillis();
     }
 
     @Override
@@ -425,6 +500,194 @@ public class JdbcConnection implements Connection {
         return holdability == ResultSet.CLOSE_CURSORS_AT_COMMIT;
     }
 
+    /**
+     * Waits until all updates executed asynchronously in the write-behind mode complete.
+     * Does nothing if the mode is disabled.
+     *
+     * @throws SQLException if an asynchronous update failed
+     */
+    public void flush() throws SQLException {
+        checkClosed();
+        WriteBehind writeBehind = client.getWriteBehind();
+        if (writeBehind != null) {
+            writeBehind.flush();
+        }
+    }
+
+    private void flushWriteBuffer() throws SQLException {
+        WriteBuffer writeBuffer = client.getWriteBuffer();
+        if (writeBuffer != null) {
+            writeBuffer.flush(client);
+        }
+    }
+
+    /**
+     * Splits a query into independent statements, each returning the rows with the split
+     * column in one sub-range of {@code [lowerBound, upperBound)}. The statements can be
+     * executed and read concurrently, for example one per thread, to extract a large table
+     * faster than with one result set. Together they return all rows of the query: the first
+     * split also returns rows where the split column is below the lower bound or {@code NULL}
+     * and the last split also returns rows at or above the upper bound.
+     * <p>
+     * The bounds only determine the split points, they don't filter rows. The query is split
+     * by ranges of a column, not by partitions or members: every split is a query over all
+     * partitions filtered by its range. The ranges should follow the distribution of the split
+     * column, for example the key, to give the splits a similar amount of work.
+     *
+     * @param sql         the query to split, it must return the split column. If it contains
+     *                    dynamic parameters, they must be set on each returned statement
+     * @param splitColumn name of a numeric column returned by the query
+     * @param lowerBound  the first split point
+     * @param upperBound  the last split point
+     * @param numSplits   the maximum number of statements to create, fewer are created if
+     *                    the range contains less than {@code numSplits} values
+     * @return prepared statements for the splits, in the order of their ranges
+     */
+    public List<PreparedStatement> prepareSplits(
+            String sql,
+            String splitColumn,
+            long lowerBound,
+            long upperBound,
+            int numSplits
+    ) throws SQLException {
+        checkClosed();
+        if (numSplits < 1) {
+            throw new SQLException("Invalid number of splits: " + numSplits);
+        }
+        if (lowerBound > upperBound) {
+            throw new SQLException("Lower bound " + lowerBound + " is greater than upper bound " + upperBound);
+        }
+        BigInteger lower = BigInteger.valueOf(lowerBound);
+        BigInteger range = BigInteger.valueOf(upperBound).subtract(lower);
+        int splits = range.compareTo(BigInteger.valueOf(numSplits)) < 0 ? Math.max(1, range.intValue()) : numSplits;
+        if (splits == 1) {
+            return Collections.singletonList(prepareStatement(sql));
+        }
+
+        List<PreparedStatement> statements = new ArrayList<>(splits);
+        long previous = lowerBound;
+        for (int i = 1; i <= splits; i++) {
+            String condition;
+            if (i == splits) {
+                condition = splitColumn + " >= " + previous;
+            } else {
+                long next = lower.add(range.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(splits)))
+                        .longValueExact();
+                condition = i == 1
+                        ? splitColumn + " < " + next + " OR " + splitColumn + " IS NULL"
+                        : splitColumn + " >= " + previous + " AND " + splitColumn + " < " + next;
+                previous = next;
+            }
+            statements.add(prepareStatement("SELECT * FROM (" + sql + ") AS t WHERE " + condition));
+        }
+        return statements;
+    }
+
+    /**
+     * Executes independent queries concurrently. At most {@code parallelism} queries, and at most
+     * {@value SqlScript#PIPELINE_THREADS} statements of the connection, are
+     * executed at a time, the rest wait for one of them to return its result set. The
+     * statement of each result set is closed when the result set is closed.
+     *
+     * @param queries     the queries to execute
+     * @param parameters  values of the dynamic parameters of each query, in the order of the
+     *                    queries, or {@code null} if the queries have no parameters
+     * @param parallelism the maximum number of queries executed at the same time
+     * @return futures of the result sets, in the order of the queries. A future of a failed
+     * query completes exceptionally with an {@link SQLException}
+     */
+    public List<CompletableFuture<ResultSet>> executeQueries(
+            List<String> queries, List<List<Object>> parameters, int parallelism) throws SQLException {
+        checkClosed();
+        if (parallelism <= 0) {
+            throw new SQLException("Invalid parallelism: " + parallelism);
+        }
+        if (parameters != null && parameters.size() != queries.size()) {
+            throw new SQLException("Number of parameter sets (" + parameters.size()
+                    + ") does not match number of queries (" + queries.size() + ")");
+        }
+        List<CompletableFuture<ResultSet>> results = new ArrayList<>(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            results.add(new CompletableFuture<>());
+        }
+        // each worker takes the next query when its previous one returns
+        AtomicInteger next = new AtomicInteger();
+        Runnable worker = () -> {
+            for (int i = next.getAndIncrement(); i < queries.size(); i = next.getAndIncrement()) {
+                List<Object> values = parameters == null ? Collections.emptyList() : parameters.get(i);
+                try {
+                    results.get(i).complete(executeQuery(queries.get(i), values));
+                } catch (SQLException | RuntimeException e) {
+                    results.get(i).completeExceptionally(e);
+                }
+            }
+        };
+        // the queries not taken by a worker when the connection closes fail
+        Consumer<SQLException> onClosed = e -> {
+            for (int i = next.getAndIncrement(); i < queries.size(); i = next.getAndIncrement()) {
+                results.get(i).completeExceptionally(e);
+            }
+        };
+        for (int i = 0; i < Math.min(parallelism, queries.size()); i++) {
+            SqlScript.execute(client.getPipeline(), worker, onClosed);
+        }
+        return results;
+    }
+
+    private ResultSet executeQuery(String sql, List<Object> parameters) throws SQLException {
+        PreparedStatement statement = prepareStatement(sql);
+        try {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            ResultSet resultSet = statement.executeQuery();
+            statement.closeOnCompletion();
+            return resultSet;
+        } catch (SQLException | RuntimeException e) {
+            statement.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Subscribes to the rows of an IMap mapping matching a condition: the listener receives the
+     * current rows, then each insert, update and delete of a matching row, without re-running the
+     * query. The subscription is closed when the connection is closed.
+     *
+     * @param mapping   name of an IMap mapping in the current schema
+     * @param condition SQL condition on the columns of the mapping, or {@code null} for all rows. The
+     *                  condition is inserted into the queries of the subscription as it is, never pass
+     *                  untrusted input
+     * @param listener  listener of the rows and their changes
+     * @return the subscription, close it to stop receiving changes
+     * @see QuerySubscription
+     */
+    public QuerySubscription subscribe(String mapping, String condition, ChangeListener listener) throws SQLException {
+        checkClosed();
+        QuerySubscription subscription = QuerySubscription.start(this, mapping, condition, listener);
+        subscriptions.removeIf(QuerySubscription::isClosed);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Sets the workload class of the statements of this connection which don't set their own.
+     * The class is used only if {@code maxConcurrentQueries} or {@code maxConcurrentBatchQueries}
+     * is set. Defaults to the {@code workloadClass} property of the URL.
+     *
+     * @param workloadClass the workload class, or {@code null} for the default
+     */
+    public void setWorkloadClass(WorkloadClass workloadClass) throws SQLException {
+        checkClosed();
+        this.workloadClass = workloadClass;
+    }
+
+    public WorkloadClass getWorkloadClass() throws SQLException {
+        checkClosed();
+        WorkloadClass workloadClass = this.workloadClass;
+        return workloadClass != null ? workloadClass : client.getDefaultWorkloadClass();
+    }
+
     JdbcUrl getJdbcUrl() {
         return client.getJdbcUrl();
     }
@@ -433,6 +696,14 @@ public class JdbcConnection implements Connection {
         return client.getClient();
     }
 
+    MetadataCache getMetadataCache() {
+        return client.getMetadataCache();
+    }
+
+    boolean isCatalogSnapshot() {
+        return client.isCatalogSnapshot();
+    }
+
     private void generateWarning(String reason) {
         SQLWarning currentWarning = new SQLWarning(reason);
         if (warnings != null) {
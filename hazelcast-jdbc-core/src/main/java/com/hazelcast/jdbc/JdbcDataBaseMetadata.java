@@ -15,14 +15,12 @@
  */
 package com.hazelcast.jdbc;
 
-import com.hazelcast.internal.serialization.SerializationService;
-import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
 import com.hazelcast.sql.SqlColumnMetadata;
 import com.hazelcast.sql.SqlColumnType;
 import com.hazelcast.sql.SqlRow;
 import com.hazelcast.sql.SqlRowMetadata;
-import com.hazelcast.sql.impl.SqlRowImpl;
-import com.hazelcast.sql.impl.row.JetSqlRow;
 import com.hazelcast.version.MemberVersion;
 import com.hazelcast.version.Version;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -33,9 +31,14 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.RowIdLifetime;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static java.util.Arrays.asList;
 import static java.util.Arrays.stream;
@@ -48,6 +51,78 @@ public class JdbcDataBaseMetadata implements DatabaseMetaData {
     private static final int JDBC_VERSION_MAJOR = 6;
     private static final int JDBC_VERSION_MINOR = 0;
     private static final int DEFAULT_NUMBER_RADIX = 10;
+    private static final String KEY_ATTRIBUTE = "__key";
+    private static final String VALUE_ATTRIBUTE = "this";
+    private static final String KEY_INDEX_NAME = "__key";
+
+    private static final String TABLES_QUERY = "SELECT "
+            + "table_catalog TABLE_CAT,"
+            + "table_schema TABLE_SCHEM,"
+            + "table_name TABLE_NAME,"
+            + "CASE table_type WHEN 'BASE TABLE' THEN 'MAPPING' ELSE table_type END TABLE_TYPE, "
+            + "CAST(null as VARCHAR) REMARKS,"
+            + "CAST(null as VARCHAR) TYPE_CAT,"
+            + "CAST(null as VARCHAR) TYPE_SCHEM,"
+            + "CAST(null as VARCHAR) TYPE_NAME,"
+            + "CAST(null as VARCHAR) SELF_REFERENCING_COL_NAME,"
+            + "CAST(null as VARCHAR) REF_GENERATION "
+            + "FROM information_schema.tables";
+    private static final String TABLES_ORDER = " ORDER BY TABLE_TYPE, table_catalog, table_schema, table_name";
+
+    private static final SqlRowMetadata TABLES_METADATA = new SqlRowMetadata(asList(
+            new SqlColumnMetadata("TABLE_CAT", SqlColumnType.VARCHAR, true),
+            new SqlColumnMetadata("TABLE_SCHEM", SqlColumnType.VARCHAR, true),
+            new SqlColumnMetadata("TABLE_NAME", SqlColumnType.VARCHAR, true),
+            new SqlColumnMetadata("TABLE_TYPE", SqlColumnType.VARCHAR, true),
+            new SqlColumnMetadata("REMARKS", SqlColumnType.VARCHAR, true),
+            new SqlColumnMetadata("TYPE_CAT", SqlColumnType.VARCHAR, true),
+            new SqlColumnMetadata("TYPE_SCHEM", SqlColumnType.VARCHAR, true),
+            new SqlColumnMetadata("TYPE_NAME", SqlColumnType.VARCHAR, true),
+            new SqlColumnMetadata("SELF_REFERENCING_COL_NAME", SqlColumnType.VARCHAR, true),
+            new SqlColumnMetadata("REF_GENERATION", SqlColumnType.VARCHAR, true)
+    ));
+
+    private static final String COLUMNS_QUERY = "SELECT "
+            + "table_catalog,"
+            + "table_schema,"
+            + "table_name,"
+            + "column_name, "
+            + "data_type,"
+            + "is_nullable,"
+            + "ordinal_position "
+            + "FROM information_schema.columns ";
+    private static final String COLUMNS_ORDER = " ORDER BY table_catalog, table_schema, table_name, ordinal_position ASC";
+
+    private static final SqlRowMetadata COLUMNS_METADATA = new SqlRowMetadata(asList(
+            new SqlColumnMetadata("TABLE_CAT", SqlColumnType.VARCHAR, true),
+            new SqlColumnMetadata("TABLE_SCHEM", SqlColumnType.VARCHAR, true),
+            new SqlColumnMetadata("TABLE_NAME", SqlColumnType.VARCHAR, false),
+            new SqlColumnMetadata("COLUMN_NAME", SqlColumnType.VARCHAR, false),
+            new SqlColumnMetadata("DATA_TYPE", SqlColumnType.INTEGER, false),
+            new SqlColumnMetadata("TYPE_NAME", SqlColumnType.VARCHAR, false),
+
+            new SqlColumnMetadata("COLUMN_SIZE", SqlColumnType.INTEGER, false),
+            new SqlColumnMetadata("BUFFER_LENGTH", SqlColumnType.VARCHAR, true),
+            new SqlColumnMetadata("DECIMAL_DIGITS", SqlColumnType.INTEGER, true),
+            new SqlColumnMetadata("NUM_PREC_RADIX", SqlColumnType.INTEGER, true),
+            new SqlColumnMetadata("NULLABLE", SqlColumnType.INTEGER, false),
+
+            new SqlColumnMetadata("REMARKS", SqlColumnType.VARCHAR, true),
+            new SqlColumnMetadata("COLUMN_DEF", SqlColumnType.VARCHAR, true),
+            new SqlColumnMetadata("SQL_DATA_TYPE", SqlColumnType.INTEGER, true),
+            new SqlColumnMetadata("SQL_DATETIME_SUB", SqlColumnType.INTEGER, true),
+
+            new SqlColumnMetadata("CHAR_OCTET_LENGTH", SqlColumnType.INTEGER, false),
+            new SqlColumnMetadata("ORDINAL_POSITION", SqlColumnType.INTEGER, false),
+            new SqlColumnMetadata("IS_NULLABLE", SqlColumnType.VARCHAR, false),
+
+            new SqlColumnMetadata("SCOPE_CATALOG", SqlColumnType.VARCHAR, true),
+            new SqlColumnMetadata("SCOPE_SCHEMA", SqlColumnType.VARCHAR, true),
+            new SqlColumnMetadata("SCOPE_TABLE", SqlColumnType.VARCHAR, true),
+            new SqlColumnMetadata("SOURCE_DATA_TYPE", SqlColumnType.SMALLINT, true),
+            new SqlColumnMetadata("IS_AUTOINCREMENT", SqlColumnType.VARCHAR, true),
+            new SqlColumnMetadata("IS_GENERATEDCOLUMN", SqlColumnType.VARCHAR, true)
+    ));
 
     private final JdbcConnection connection;
 
@@ -697,22 +772,18 @@ public class JdbcDataBaseMetadata implements DatabaseMetaData {
     }
 
     @Override
-    @SuppressFBWarnings({"OBL_UNSATISFIED_OBLIGATION_EXCEPTION_EDGE", "ODR_OPEN_DATABASE_RESOURCE"})
     public ResultSet getTables(String catalog, String schema, String tableName, String[] types) throws SQLException {
+        if (connection.isCatalogSnapshot()) {
+            final CatalogSnapshot snapshot = catalogSnapshot();
+            final Set<String> typeSet = types == null || types.length == 0 ? null : new HashSet<>(asList(types));
+            final Iterable<SqlRow> rows = () -> snapshot.tables(catalog, schema, tableName, typeSet)
+                    .map(values -> makeSqlRow(values, TABLES_METADATA))
+                    .iterator();
+            return new JdbcResultSet(new FixedRowsSqlResult(TABLES_METADATA, rows), new JdbcStatement(null, connection));
+        }
+
         final List<Object> params = new ArrayList<>();
-        final StringBuilder sqlBuilder = new StringBuilder("SELECT "
-                + "table_catalog TABLE_CAT,"
-                + "table_schema TABLE_SCHEM,"
-                + "table_name TABLE_NAME,"
-                + "CASE table_type WHEN 'BASE TABLE' THEN 'MAPPING' ELSE table_type END TABLE_TYPE, "
-                + "CAST(null as VARCHAR) REMARKS,"
-                + "CAST(null as VARCHAR) TYPE_CAT,"
-                + "CAST(null as VARCHAR) TYPE_SCHEM,"
-                + "CAST(null as VARCHAR) TYPE_NAME,"
-                + "CAST(null as VARCHAR) SELF_REFERENCING_COL_NAME,"
-                + "CAST(null as VARCHAR) REF_GENERATION "
-                + "FROM information_schema.tables "
-                + "WHERE 1=1");
+        final StringBuilder sqlBuilder = new StringBuilder(TABLES_QUERY + " WHERE 1=1");
 
         if (catalog != null) {
             sqlBuilder.append(" AND table_catalog LIKE ?");
@@ -739,13 +810,26 @@ public class JdbcDataBaseMetadata implements DatabaseMetaData {
                     .forEach(params::add);
         }
 
-        sqlBuilder.append(" ORDER BY TABLE_TYPE, table_catalog, table_schema, table_name");
+        sqlBuilder.append(TABLES_ORDER);
 
-        PreparedStatement statement = connection.prepareStatement(sqlBuilder.toString());
-        for (int i = 0; i < params.size(); i++) {
-            statement.setObject(i + 1, params.get(i));
-        }
-        return statement.executeQuery();
+        final List<Object> cacheKey = asList("getTables", catalog, schema, tableName,
+                types == null ? null : asList(types));
+        final List<SqlRow> rows = connection.getMetadataCache().get(cacheKey, () -> {
+            final List<SqlRow> result = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement(sqlBuilder.toString())) {
+                for (int i = 0; i < params.size(); i++) {
+                    statement.setObject(i + 1, params.get(i));
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        result.add(makeSqlRow(tableValues(rs), TABLES_METADATA));
+                    }
+                }
+            }
+            return result;
+        });
+
+        return new JdbcResultSet(new FixedRowsSqlResult(TABLES_METADATA, rows), new JdbcStatement(null, connection));
     }
 
     @Override
@@ -797,7 +881,6 @@ public class JdbcDataBaseMetadata implements DatabaseMetaData {
     @Override
     @SuppressWarnings({
             "checkstyle:CyclomaticComplexity",
-            "checkstyle:MethodLength",
             "checkstyle:NPathComplexity"
     })
     public ResultSet getColumns(
@@ -806,17 +889,17 @@ public class JdbcDataBaseMetadata implements DatabaseMetaData {
             String tableName,
             String columnName
     ) throws SQLException {
+        if (connection.isCatalogSnapshot()) {
+            final CatalogSnapshot snapshot = catalogSnapshot();
+            final Iterable<SqlRow> rows = () -> snapshot.columns(catalog, schema, tableName, columnName)
+                    .map(values -> makeSqlRow(values, COLUMNS_METADATA))
+                    .iterator();
+            return new JdbcResultSet(new FixedRowsSqlResult(COLUMNS_METADATA, rows), new JdbcStatement(null, connection));
+        }
+
         final List<String> conditions = new ArrayList<>();
         final List<Object> params = new ArrayList<>();
-        final StringBuilder sqlBuilder = new StringBuilder("SELECT "
-                + "table_catalog,"
-                + "table_schema,"
-                + "table_name,"
-                + "column_name, "
-                + "data_type,"
-                + "is_nullable,"
-                + "ordinal_position "
-                + "FROM information_schema.columns ");
+        final StringBuilder sqlBuilder = new StringBuilder(COLUMNS_QUERY);
 
         if (catalog != null) {
             conditions.add("table_catalog LIKE ?");
@@ -843,86 +926,95 @@ public class JdbcDataBaseMetadata implements DatabaseMetaData {
             sqlBuilder.append(String.join(" AND ", conditions));
         }
 
-        sqlBuilder.append(" ORDER BY table_catalog, table_schema, table_name, ordinal_position ASC");
+        sqlBuilder.append(COLUMNS_ORDER);
 
-        final SqlRowMetadata metadata = new SqlRowMetadata(asList(
-                new SqlColumnMetadata("TABLE_CAT", SqlColumnType.VARCHAR, true),
-                new SqlColumnMetadata("TABLE_SCHEM", SqlColumnType.VARCHAR, true),
-                new SqlColumnMetadata("TABLE_NAME", SqlColumnType.VARCHAR, false),
-                new SqlColumnMetadata("COLUMN_NAME", SqlColumnType.VARCHAR, false),
-                new SqlColumnMetadata("DATA_TYPE", SqlColumnType.INTEGER, false),
-                new SqlColumnMetadata("TYPE_NAME", SqlColumnType.VARCHAR, false),
+        final List<Object> cacheKey = asList("getColumns", catalog, schema, tableName, columnName);
+        final List<SqlRow> rows = connection.getMetadataCache().get(cacheKey, () -> {
+            final List<SqlRow> result = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement(sqlBuilder.toString())) {
+                for (int i = 0; i < params.size(); i++) {
+                    statement.setObject(i + 1, params.get(i));
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        result.add(makeSqlRow(columnValues(rs), COLUMNS_METADATA));
+                    }
+                }
+            }
+            return result;
+        });
 
-                new SqlColumnMetadata("COLUMN_SIZE", SqlColumnType.INTEGER, false),
-                new SqlColumnMetadata("BUFFER_LENGTH", SqlColumnType.VARCHAR, true),
-                new SqlColumnMetadata("DECIMAL_DIGITS", SqlColumnType.INTEGER, true),
-                new SqlColumnMetadata("NUM_PREC_RADIX", SqlColumnType.INTEGER, true),
-                new SqlColumnMetadata("NULLABLE", SqlColumnType.INTEGER, false),
+        return new JdbcResultSet(new FixedRowsSqlResult(COLUMNS_METADATA, rows), new JdbcStatement(null, connection));
+    }
 
-                new SqlColumnMetadata("REMARKS", SqlColumnType.VARCHAR, true),
-                new SqlColumnMetadata("COLUMN_DEF", SqlColumnType.VARCHAR, true),
-                new SqlColumnMetadata("SQL_DATA_TYPE", SqlColumnType.INTEGER, true),
-                new SqlColumnMetadata("SQL_DATETIME_SUB", SqlColumnType.INTEGER, true),
+    private static Object[] tableValues(ResultSet rs) throws SQLException {
+        final Object[] values = new Object[TABLES_METADATA.getColumnCount()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = rs.getString(i + 1);
+        }
+        return values;
+    }
+
+    private static Object[] columnValues(ResultSet rs) throws SQLException {
+        final SqlColumnType sqlColumnType = TypeUtil.getTypeByQDTName(rs.getString("data_type"));
+        final boolean isNullable = rs.getBoolean("is_nullable");
+        final TypeUtil.SqlTypeInfo typeInfo = TypeUtil.getTypeInfo(sqlColumnType);
+
+        return new Object[]{
+                rs.getString("table_catalog"),
+                rs.getString("table_schema"),
+                rs.getString("table_name"),
+                rs.getString("column_name"),
+                TypeUtil.getJdbcType(sqlColumnType), // DATA_TYPE
+                // Source column is QueryDataTypeFamily.name()
+                rs.getString("data_type").replaceAll("_", " "), // TYPE_NAME
+
+                typeInfo.getPrecision(), // COLUMN_SIZE
+                null, // BUFFER_LENGTH
+                typeInfo.getScale() == 0 ? null : typeInfo.getScale(), // DECIMAL_DIGITS
+                DEFAULT_NUMBER_RADIX, // NUM_PREC_RADIX
+                isNullable ? DatabaseMetaData.columnNullable : DatabaseMetaData.columnNoNulls, // NULLABLE
+
+                null, // REMARKS
+                null, // COLUMN_DEF
+                null, // SQL_DATA_TYPE
+                null, // SQL_DATETIME_SUB
 
-                new SqlColumnMetadata("CHAR_OCTET_LENGTH", SqlColumnType.INTEGER, false),
-                new SqlColumnMetadata("ORDINAL_POSITION", SqlColumnType.INTEGER, false),
-                new SqlColumnMetadata("IS_NULLABLE", SqlColumnType.VARCHAR, false),
+                sqlColumnType.equals(SqlColumnType.VARCHAR) ? typeInfo.getPrecision() : null, // CHAR_OCTET_LENGTH
+                rs.getInt("ordinal_position"),
+                isNullable ? "YES" : "NO", // IS_NULLABLE
 
-                new SqlColumnMetadata("SCOPE_CATALOG", SqlColumnType.VARCHAR, true),
-                new SqlColumnMetadata("SCOPE_SCHEMA", SqlColumnType.VARCHAR, true),
-                new SqlColumnMetadata("SCOPE_TABLE", SqlColumnType.VARCHAR, true),
-                new SqlColumnMetadata("SOURCE_DATA_TYPE", SqlColumnType.SMALLINT, true),
-                new SqlColumnMetadata("IS_AUTOINCREMENT", SqlColumnType.VARCHAR, true),
-                new SqlColumnMetadata("IS_GENERATEDCOLUMN", SqlColumnType.VARCHAR, true)
-        ));
+                null, // SCOPE_CATALOG
+                null, // SCOPE_SCHEMA
+                null, // SCOPE_TABLE
+                null, // SOURCE_DATA_TYPE
+                "", // IS_AUTOINCREMENT
+                "" // IS_GENERATEDCOLUMN
+        };
+    }
 
-        final List<SqlRow> rows = new ArrayList<>();
-        try (PreparedStatement statement = this.connection.prepareStatement(sqlBuilder.toString())) {
-            for (int i = 0; i < params.size(); i++) {
-                statement.setObject(i + 1, params.get(i));
+    private CatalogSnapshot catalogSnapshot() throws SQLException {
+        return connection.getMetadataCache().get("catalogSnapshot", this::loadCatalogSnapshot);
+    }
+
+    /**
+     * Loads all tables and all columns with one query each, regardless of how many tables there are.
+     */
+    private CatalogSnapshot loadCatalogSnapshot() throws SQLException {
+        final CatalogSnapshot snapshot = new CatalogSnapshot();
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet rs = statement.executeQuery(TABLES_QUERY + TABLES_ORDER)) {
+                while (rs.next()) {
+                    snapshot.addTable(tableValues(rs));
+                }
             }
-            try (ResultSet rs = statement.executeQuery()) {
+            try (ResultSet rs = statement.executeQuery(COLUMNS_QUERY + COLUMNS_ORDER)) {
                 while (rs.next()) {
-                    final SqlColumnType sqlColumnType = TypeUtil.getTypeByQDTName(rs.getString("data_type"));
-                    final boolean isNullable = rs.getBoolean("is_nullable");
-                    final TypeUtil.SqlTypeInfo typeInfo = TypeUtil.getTypeInfo(sqlColumnType);
-
-                    rows.add(makeSqlRow(new Object[]{
-                            rs.getString("table_catalog"),
-                            rs.getString("table_schema"),
-                            rs.getString("table_name"),
-                            rs.getString("column_name"),
-                            TypeUtil.getJdbcType(sqlColumnType), // DATA_TYPE
-                            // Source column is QueryDataTypeFamily.name()
-                            rs.getString("data_type").replaceAll("_", " "), // TYPE_NAME
-
-                            typeInfo.getPrecision(), // COLUMN_SIZE
-                            null, // BUFFER_LENGTH
-                            typeInfo.getScale() == 0 ? null : typeInfo.getScale(), // DECIMAL_DIGITS
-                            DEFAULT_NUMBER_RADIX, // NUM_PREC_RADIX
-                            isNullable ? DatabaseMetaData.columnNullable : DatabaseMetaData.columnNoNulls, // NULLABLE
-
-                            null, // REMARKS
-                            null, // COLUMN_DEF
-                            null, // SQL_DATA_TYPE
-                            null, // SQL_DATETIME_SUB
-
-                            sqlColumnType.equals(SqlColumnType.VARCHAR) ? typeInfo.getPrecision() : null, // CHAR_OCTET_LENGTH
-                            rs.getInt("ordinal_position"),
-                            isNullable ? "YES" : "NO", // IS_NULLABLE
-
-                            null, // SCOPE_CATALOG
-                            null, // SCOPE_SCHEMA
-                            null, // SCOPE_TABLE
-                            null, // SOURCE_DATA_TYPE
-                            "", // IS_AUTOINCREMENT
-                            "" // IS_GENERATEDCOLUMN
-                    }, metadata));
+                    snapshot.addColumn(columnValues(rs));
                 }
             }
         }
-
-        return new JdbcResultSet(new FixedRowsSqlResult(metadata, rows), new JdbcStatement(null, connection));
+        return snapshot;
     }
 
     @Override
@@ -997,14 +1089,34 @@ public class JdbcDataBaseMetadata implements DatabaseMetaData {
 
     @Override
     public ResultSet getPrimaryKeys(String catalog, String schema, String table) throws SQLException {
-        return emptyResultSet(new SqlRowMetadata(asList(
+        final SqlRowMetadata metadata = new SqlRowMetadata(asList(
                 new SqlColumnMetadata("TABLE_CAT", SqlColumnType.VARCHAR, true),
                 new SqlColumnMetadata("TABLE_SCHEM", SqlColumnType.VARCHAR, true),
                 new SqlColumnMetadata("TABLE_NAME", SqlColumnType.VARCHAR, false),
                 new SqlColumnMetadata("COLUMN_NAME", SqlColumnType.VARCHAR, false),
                 new SqlColumnMetadata("KEY_SEQ", SqlColumnType.SMALLINT, false),
                 new SqlColumnMetadata("PK_NAME", SqlColumnType.VARCHAR, true)
-        )));
+        ));
+
+        // IMap entries are unique by key, so the key columns form the primary key
+        final List<SqlRow> rows = new ArrayList<>();
+        for (IMapTable imapTable : imapTables(catalog, schema, table)) {
+            final List<String> keyColumns = imapTable.keyColumns();
+            final List<String> sortedKeyColumns = new ArrayList<>(keyColumns);
+            sortedKeyColumns.sort(Comparator.naturalOrder());
+            for (String column : sortedKeyColumns) {
+                rows.add(makeSqlRow(new Object[]{
+                        imapTable.catalog,
+                        imapTable.schema,
+                        imapTable.name,
+                        column,
+                        (short) (keyColumns.indexOf(column) + 1), // KEY_SEQ
+                        null // PK_NAME
+                }, metadata));
+            }
+        }
+
+        return new JdbcResultSet(new FixedRowsSqlResult(metadata, rows), new JdbcStatement(null, connection));
     }
 
     @Override
@@ -1157,7 +1269,7 @@ public class JdbcDataBaseMetadata implements DatabaseMetaData {
             boolean unique,
             boolean approximate
     ) throws SQLException {
-        return emptyResultSet(new SqlRowMetadata(asList(
+        final SqlRowMetadata metadata = new SqlRowMetadata(asList(
                 new SqlColumnMetadata("TABLE_CAT", SqlColumnType.VARCHAR, true),
                 new SqlColumnMetadata("TABLE_SCHEM", SqlColumnType.VARCHAR, true),
                 new SqlColumnMetadata("TABLE_NAME", SqlColumnType.VARCHAR, false),
@@ -1171,7 +1283,136 @@ public class JdbcDataBaseMetadata implements DatabaseMetaData {
                 new SqlColumnMetadata("CARDINALITY", SqlColumnType.BIGINT, false),
                 new SqlColumnMetadata("PAGES", SqlColumnType.BIGINT, false),
                 new SqlColumnMetadata("FILTER_CONDITION", SqlColumnType.VARCHAR, true)
-        )));
+        ));
+
+        final List<SqlRow> rows = new ArrayList<>();
+        for (IMapTable imapTable : imapTables(catalog, schema, table)) {
+            // the key is a unique hash index of the map
+            final List<String> keyColumns = imapTable.keyColumns();
+            for (int i = 0; i < keyColumns.size(); i++) {
+                rows.add(indexInfoRow(imapTable, false, KEY_INDEX_NAME, tableIndexHashed, i, keyColumns.get(i), null,
+                        metadata));
+            }
+            if (unique) {
+                continue;
+            }
+
+            final List<IndexConfig> indexConfigs = connection.getMetadataCache().get(
+                    asList("indexConfigs", imapTable.mapName),
+                    () -> IndexConfigReader.read(connection.getClientInstance(), imapTable.mapName));
+            final List<SqlRow> indexRows = new ArrayList<>();
+            for (IndexConfig indexConfig : indexConfigs) {
+                final List<String> columns = imapTable.columnsOf(indexConfig.getAttributes());
+                if (columns == null) {
+                    // an attribute which isn't mapped to a column
+                    continue;
+                }
+                final String indexName = indexConfig.getName() != null
+                        ? indexConfig.getName()
+                        : imapTable.mapName + "_" + indexConfig.getType().name().toLowerCase()
+                                + "_" + String.join("_", indexConfig.getAttributes());
+                final boolean sorted = indexConfig.getType() == IndexType.SORTED;
+                final short type = indexConfig.getType() == IndexType.HASH ? tableIndexHashed : tableIndexOther;
+                for (int i = 0; i < columns.size(); i++) {
+                    indexRows.add(indexInfoRow(imapTable, true, indexName, type, i, columns.get(i),
+                            sorted ? "A" : null, metadata));
+                }
+            }
+            // ordered by NON_UNIQUE, TYPE, INDEX_NAME and ORDINAL_POSITION
+            indexRows.sort(Comparator.<SqlRow, Short>comparing(row -> row.getObject("TYPE"))
+                    .thenComparing(row -> row.<String>getObject("INDEX_NAME"))
+                    .thenComparing(row -> row.<Short>getObject("ORDINAL_POSITION")));
+            rows.addAll(indexRows);
+        }
+
+        return new JdbcResultSet(new FixedRowsSqlResult(metadata, rows), new JdbcStatement(null, connection));
+    }
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private static SqlRow indexInfoRow(IMapTable imapTable, boolean nonUnique, String indexName, short type,
+                                       int position, String column, String ascOrDesc, SqlRowMetadata metadata) {
+        return makeSqlRow(new Object[]{
+                imapTable.catalog,
+                imapTable.schema,
+                imapTable.name,
+                nonUnique, // NON_UNIQUE
+                null, // INDEX_QUALIFIER
+                indexName,
+                type, // TYPE
+                (short) (position + 1), // ORDINAL_POSITION
+                column,
+                ascOrDesc, // ASC_OR_DESC
+                0L, // CARDINALITY
+                0L, // PAGES
+                null // FILTER_CONDITION
+        }, metadata);
+    }
+
+    /**
+     * @return mappings to IMaps matching the given names, with their columns, ordered
+     * by catalog, schema and table name
+     */
+    private List<IMapTable> imapTables(String catalog, String schema, String table) throws SQLException {
+        final List<Object> cacheKey = asList("imapTables", catalog, schema, table);
+        return connection.getMetadataCache().get(cacheKey, () -> loadIMapTables(catalog, schema, table));
+    }
+
+    private List<IMapTable> loadIMapTables(String catalog, String schema, String table) throws SQLException {
+        final List<String> conditions = new ArrayList<>();
+        final List<Object> params = new ArrayList<>();
+        if (catalog != null) {
+            conditions.add(" AND table_catalog = ?");
+            params.add(catalog);
+        }
+        if (schema != null) {
+            conditions.add(" AND table_schema = ?");
+            params.add(schema);
+        }
+        if (table != null) {
+            conditions.add(" AND table_name = ?");
+            params.add(table);
+        }
+        final String filter = String.join("", conditions);
+
+        final Map<List<String>, IMapTable> tables = new LinkedHashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT "
+                + "table_catalog, table_schema, table_name, mapping_external_name "
+                + "FROM information_schema.mappings "
+                + "WHERE mapping_type = 'IMap'" + filter
+                + " ORDER BY table_catalog, table_schema, table_name")) {
+            for (int i = 0; i < params.size(); i++) {
+                statement.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    final IMapTable imapTable = new IMapTable(rs.getString(1), rs.getString(2), rs.getString(3),
+                            IMapTable.unquote(rs.getString(4)));
+                    tables.put(asList(imapTable.catalog, imapTable.schema, imapTable.name), imapTable);
+                }
+            }
+        }
+        if (tables.isEmpty()) {
+            return emptyList();
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement("SELECT "
+                + "table_catalog, table_schema, table_name, column_name, column_external_name "
+                + "FROM information_schema.columns "
+                + "WHERE column_external_name IS NOT NULL" + filter
+                + " ORDER BY table_catalog, table_schema, table_name, ordinal_position")) {
+            for (int i = 0; i < params.size(); i++) {
+                statement.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    final IMapTable imapTable = tables.get(asList(rs.getString(1), rs.getString(2), rs.getString(3)));
+                    if (imapTable != null) {
+                        imapTable.columns.put(rs.getString(5), rs.getString(4));
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(tables.values());
     }
 
     @Override
@@ -1483,20 +1724,82 @@ public class JdbcDataBaseMetadata implements DatabaseMetaData {
         return JdbcUtils.isWrapperFor(this, iface);
     }
 
-    private SqlRow makeSqlRow(Object[] values, SqlRowMetadata sqlRowMetadata) {
-        SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
-        JetSqlRow jetSqlRow = new JetSqlRow(serializationService, values);
-        return new SqlRowImpl(sqlRowMetadata, jetSqlRow);
+    private static SqlRow makeSqlRow(Object[] values, SqlRowMetadata sqlRowMetadata) {
+        return FixedRowsSqlResult.row(sqlRowMetadata, values);
     }
 
-    // See https://github.com/hazelcast/hazelcast/issues/21301
     private Version getMasterVersion() {
+        return connection.getMetadataCache().get("masterVersion", this::loadMasterVersion);
+    }
+
+    // See https://github.com/hazelcast/hazelcast/issues/21301
+    private Version loadMasterVersion() {
         // connection.getClientInstance().getCluster().getClusterVersion();
         MemberVersion memberVersion = connection.getClientInstance().getCluster()
                 .getMembers().iterator().next().getVersion();
         return Version.of(memberVersion.getMajor(), memberVersion.getMinor());
     }
 
+    /**
+     * A mapping to an IMap with its columns.
+     */
+    static final class IMapTable {
+        private final String catalog;
+        private final String schema;
+        private final String name;
+        private final String mapName;
+
+        /** column external name -> column name, in ordinal order */
+        private final Map<String, String> columns = new LinkedHashMap<>();
+
+        private IMapTable(String catalog, String schema, String name, String mapName) {
+            this.catalog = catalog;
+            this.schema = schema;
+            this.name = name;
+            this.mapName = mapName;
+        }
+
+        List<String> keyColumns() {
+            final List<String> result = new ArrayList<>();
+            columns.forEach((externalName, column) -> {
+                if (externalName.equals(KEY_ATTRIBUTE) || externalName.startsWith(KEY_ATTRIBUTE + ".")) {
+                    result.add(column);
+                }
+            });
+            return result;
+        }
+
+        /**
+         * @return columns of the given index attributes, or {@code null} if some attribute isn't mapped
+         */
+        List<String> columnsOf(List<String> attributes) {
+            final List<String> result = new ArrayList<>();
+            for (String attribute : attributes) {
+                // attributes of the value may omit the "this." prefix
+                String column = columns.get(attribute);
+                if (column == null) {
+                    column = columns.get(VALUE_ATTRIBUTE + "." + attribute);
+                }
+                if (column == null) {
+                    return null;
+                }
+                result.add(column);
+            }
+            return result;
+        }
+
+        /**
+         * The external name is reported as a quoted identifier.
+         */
+        static String unquote(String externalName) {
+            if (externalName != null && externalName.length() >= 2
+                    && externalName.startsWith("\"") && externalName.endsWith("\"")) {
+                return externalName.substring(1, externalName.length() - 1).replace("\"\"", "\"");
+            }
+            return externalName;
+        }
+    }
+
     private ResultSet emptyResultSet(final SqlRowMetadata metadata) throws SQLException {
         return new JdbcResultSet(
                 new FixedRowsSqlResult(metadata, emptyList()),
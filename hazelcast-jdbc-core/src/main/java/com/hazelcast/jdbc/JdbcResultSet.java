@@ -18,6 +18,8 @@ package com.hazelcast.jdbc;
 import com.hazelcast.sql.SqlResult;
 import com.hazelcast.sql.SqlRow;
 import com.hazelcast.sql.SqlRowMetadata;
+import com.hazelcast.sql.impl.ResultIterator;
+import com.hazelcast.sql.impl.ResultIterator.HasNextResult;
 
 import java.io.InputStream;
 import java.io.Reader;
@@ -34,6 +36,7 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.RowId;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
 import java.sql.SQLWarning;
 import java.sql.SQLXML;
 import java.sql.Statement;
@@ -43,6 +46,9 @@ import java.util.Calendar;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.jdbc.TypeConverter.convertTo;
 import static com.hazelcast.jdbc.TypeConverter.convertToBigDecimal;
@@ -109,6 +115,7 @@ public class JdbcResultSet implements ResultSet {
     @Override
     public boolean next() throws SQLException {
         checkClosed();
+        awaitNextPage();
         if (iterator.hasNext() && isNextRowAvailable()) {
             currentRow = iterator.next();
             rowsReturned++;
@@ -118,6 +125,63 @@ public class JdbcResultSet implements ResultSet {
         return false;
     }
 
+    /**
+     * Waits for the next row at most for the network timeout of the connection, if it's set.
+     */
+    private void awaitNextPage() throws SQLException {
+        HazelcastSqlClient client = statement == null ? null : statement.getClient();
+        int networkTimeout = client == null ? 0 : client.getNetworkTimeoutMillis();
+        if (networkTimeout > 0 && iterator instanceof ResultIterator && isNextRowAvailable()
+                && ((ResultIterator<SqlRow>) iterator).hasNext(networkTimeout, TimeUnit.MILLISECONDS)
+                == HasNextResult.TIMEOUT) {
+            client.networkTimeoutExpired();
+            throw new SQLTimeoutException("Network timeout of " + networkTimeout + " ms expired");
+        }
+    }
+
+    /**
+     * Moves to the next row if it becomes available within the timeout. Use it to read
+     * streaming queries without blocking indefinitely.
+     *
+     * @return {@code true} if the cursor moved to the next row, {@code false} if there was no
+     * row within the timeout or there are no more rows, which is reported by {@link #isAfterLast()}
+     */
+    public boolean next(long timeout, TimeUnit unit) throws SQLException {
+        checkClosed();
+        if (iterator instanceof ResultIterator && isNextRowAvailable()) {
+            HasNextResult result = ((ResultIterator<SqlRow>) iterator).hasNext(timeout, unit);
+            if (result == HasNextResult.TIMEOUT) {
+                return false;
+            }
+        }
+        // the row is available, or the rows are in memory
+        return next();
+    }
+
+    /**
+     * Moves to the next row if it is available without waiting.
+     *
+     * @see #next(long, TimeUnit)
+     */
+    public boolean tryNext() throws SQLException {
+        return next(0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Delivers the rows of this result set to the listener, on the given executor. No thread
+     * waits for the rows of a streaming query: the available rows are delivered and the
+     * result set is polled again after a short interval. The result set is closed after the
+     * last row or the first failure, and must not be used by the caller after subscribing.
+     *
+     * @return future completed after the last row was delivered. Cancel it to stop the delivery
+     */
+    public CompletableFuture<Void> subscribe(RowListener listener, Executor executor) throws SQLException {
+        checkClosed();
+        RowSubscription subscription = new RowSubscription(this, listener, executor);
+        subscription.deliver();
+        return subscription;
+    }
+
     private boolean isNextRowAvailable() {
         return (maxRows == 0 || rowsReturned < maxRows) && rowsReturned != -1;
     }
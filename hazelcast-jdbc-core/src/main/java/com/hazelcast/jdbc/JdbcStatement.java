@@ -15,10 +15,15 @@
  */
 package com.hazelcast.jdbc;
 
+import com.hazelcast.cluster.Member;
+import com.hazelcast.jdbc.SqlLiteralParameterizer.ParameterizedSql;
+import com.hazelcast.partition.Partition;
 import com.hazelcast.sql.HazelcastSqlException;
 import com.hazelcast.sql.SqlExpectedResultType;
 import com.hazelcast.sql.SqlResult;
 import com.hazelcast.sql.SqlStatement;
+import com.hazelcast.sql.impl.AbstractSqlResult;
+import com.hazelcast.sql.impl.SqlErrorCode;
 
 import java.sql.Connection;
 import java.sql.ResultSet;
@@ -26,8 +31,13 @@ import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.sql.SQLWarning;
 import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -63,6 +73,21 @@ public class JdbcStatement implements Statement {
     /** Result set max rows */
     private int maxRows;
 
+    /** Index of the parameter which determined the partition of the last execution, or -1. */
+    private int partitionArgumentIndex = -1;
+
+    /** Value of the partition argument in the last execution. */
+    private Object partitionKey;
+
+    /** Workload class of the statement, or {@code null} for the workload class of the connection. */
+    private WorkloadClass workloadClass;
+
+    /** Results of the statements of a script following the current result. */
+    private final Deque<Object> moreResults = new ArrayDeque<>();
+
+    /** Result sets kept open by {@code getMoreResults(KEEP_CURRENT_RESULT)}. */
+    private final List<ResultSet> keptResultSets = new ArrayList<>();
+
     private final HazelcastSqlClient client;
     private final Connection connection;
     private final String schema;
@@ -95,6 +120,7 @@ public class JdbcStatement implements Statement {
     public void close() throws SQLException {
         if (!isClosed()) {
             closeResultSet();
+            closeMoreResults();
             closed = true;
         }
     }
@@ -172,7 +198,12 @@ public class JdbcStatement implements Statement {
     @Override
     public boolean execute(String sql) throws SQLException {
         checkClosed();
-        doExecute(sql, Collections.emptyList(), SqlExpectedResultType.ANY);
+        List<String> script = sql.indexOf(';') >= 0 ? SqlScript.split(sql) : null;
+        if (script != null && script.size() > 1) {
+            executeScript(script);
+        } else {
+            doExecute(sql, Collections.emptyList(), SqlExpectedResultType.ANY);
+        }
         return resultSet != null;
     }
 
@@ -278,11 +309,23 @@ public class JdbcStatement implements Statement {
     @Override
     public boolean getMoreResults(int current) throws SQLException {
         checkClosed();
-        if (current == Statement.CLOSE_CURRENT_RESULT || current == Statement.CLOSE_ALL_RESULTS) {
+        if (current == Statement.CLOSE_ALL_RESULTS) {
+            closeKeptResultSets();
+        }
+        if (current == Statement.KEEP_CURRENT_RESULT) {
+            if (resultSet != null) {
+                keptResultSets.add(resultSet);
+                resultSet = null;
+            }
+        } else {
             closeResultSet();
+        }
+        if (moreResults.isEmpty()) {
             updateCount = -1;
+            return false;
         }
-        return false;
+        setResult(moreResults.poll());
+        return resultSet != null;
     }
 
     @Override
@@ -390,15 +433,288 @@ public class JdbcStatement implements Statement {
         return JdbcUtils.isWrapperFor(this, iface);
     }
 
+    /**
+     * Returns the index of the parameter which determined the partition of the last executed
+     * statement. A statement which filters by the key, such as {@code SELECT * FROM m WHERE
+     * __key = ?}, is partition-local. Subsequent executions of the same SQL on the connection
+     * are sent directly to the member owning the partition of the bound key, if the client
+     * is connected to it.
+     *
+     * @return the zero-based parameter index, or -1 if the last statement wasn't partition-local
+     */
+    public int getPartitionArgumentIndex() {
+        return partitionArgumentIndex;
+    }
+
+    /**
+     * @return the partition of the partition argument of the last executed statement, or -1
+     * if it wasn't partition-local, see {@link #getPartitionArgumentIndex()}
+     */
+    public int getRoutingPartitionId() {
+        Partition partition = routingPartition();
+        return partition == null ? -1 : partition.getPartitionId();
+    }
+
+    /**
+     * @return the current owner of the partition of the partition argument of the last executed
+     * statement, or {@code null} if it wasn't partition-local or the owner isn't known,
+     * see {@link #getPartitionArgumentIndex()}
+     */
+    public Member getRoutingMember() {
+        Partition partition = routingPartition();
+        return partition == null ? null : partition.getOwner();
+    }
+
+    /**
+     * Sets the workload class of the statement, used by the admission control if
+     * {@code maxConcurrentQueries} or {@code maxConcurrentBatchQueries} is set.
+     *
+     * @param workloadClass the workload class, or {@code null} for the workload class of the connection
+     * @see JdbcConnection#setWorkloadClass(WorkloadClass)
+     */
+    public void setWorkloadClass(WorkloadClass workloadClass) throws SQLException {
+        checkClosed();
+        this.workloadClass = workloadClass;
+    }
+
+    public WorkloadClass getWorkloadClass() throws SQLException {
+        checkClosed();
+        return workloadClass != null ? workloadClass : connection.unwrap(JdbcConnection.class).getWorkloadClass();
+    }
+
+    private Partition routingPartition() {
+        if (partitionArgumentIndex < 0 || partitionKey == null) {
+            return null;
+        }
+        return client.getClient().getPartitionService().getPartition(partitionKey);
+    }
+
     void tryCloseOnCompletion() throws SQLException {
-        if (closeOnCompletion) {
+        if (closeOnCompletion && moreResults.isEmpty() && keptResultSets.isEmpty()) {
             close();
         }
     }
 
     void doExecute(String sql, List<Object> parameters, SqlExpectedResultType expectedResult) throws SQLException {
         checkClosed();
+        closeMoreResults();
+        partitionArgumentIndex = -1;
+        partitionKey = null;
+        Routing routing = new Routing();
+        Object result = executeStatement(sql, parameters, expectedResult, routing);
+        partitionArgumentIndex = routing.partitionArgumentIndex;
+        partitionKey = routing.partitionKey;
+        setResult(result);
+    }
+
+    /**
+     * Executes the statements of a script, pipelining consecutive queries. The result of the first
+     * statement becomes the current result, the results of the others are returned by {@link #getMoreResults}.
+     * If a statement fails, the following statements aren't executed.
+     */
+    private void executeScript(List<String> statements) throws SQLException {
+        checkClosed();
+        closeMoreResults();
+        // the statements of a script are routed independently
+        partitionArgumentIndex = -1;
+        partitionKey = null;
+        List<CompletableFuture<Object>> results = new ArrayList<>();
+        try {
+            int completed = 0;
+            for (String sql : statements) {
+                if (SqlScript.isQuery(sql)) {
+                    flushDeferredUpdates();
+                    CompletableFuture<Object> result = new CompletableFuture<>();
+                    SqlScript.execute(client.getPipeline(), () -> executeInScript(sql, result), result::completeExceptionally);
+                    results.add(result);
+                } else {
+                    // the statement may change the rows read by the preceding queries
+                    for (; completed < results.size(); completed++) {
+                        await(results.get(completed));
+                    }
+                    results.add(CompletableFuture.completedFuture(
+                            executeStatement(sql, Collections.emptyList(), SqlExpectedResultType.ANY, new Routing())));
+                }
+            }
+            for (CompletableFuture<Object> result : results) {
+                moreResults.add(await(result));
+            }
+        } catch (SQLException | RuntimeException e) {
+            moreResults.clear();
+            for (CompletableFuture<Object> result : results) {
+                result.thenAccept(JdbcStatement::closeResult);
+            }
+            throw e;
+        }
+        setResult(moreResults.poll());
+    }
+
+    private void executeInScript(String sql, CompletableFuture<Object> result) {
+        try {
+            result.complete(executeStatement(sql, Collections.emptyList(), SqlExpectedResultType.ANY, new Routing()));
+        } catch (SQLException | RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> result) throws SQLException {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            throw new SQLException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * @param routing receives the partition argument of the execution. Statements of a script are
+     *                executed concurrently, so the execution doesn't update the fields of the statement
+     * @return the {@link SqlResult} of the statement, or the update count of an update executed
+     * asynchronously or buffered until commit
+     */
+    private Object executeStatement(String sql, List<Object> parameters, SqlExpectedResultType expectedResult,
+                                    Routing routing) throws SQLException {
+        client.awaitReady(SECONDS.toMillis(queryTimeout));
+        if (expectedResult == SqlExpectedResultType.UPDATE_COUNT && isDml(sql)) {
+            WriteBuffer writeBuffer = client.getWriteBuffer();
+            if (writeBuffer != null && !connection.getAutoCommit()) {
+                writeBuffer.add(sqlStatement(sql, parameters, expectedResult));
+                // the update count the cluster reports for DML statements
+                return 0L;
+            }
+            WriteBehind writeBehind = client.getWriteBehind();
+            if (writeBehind != null) {
+                SqlStatement statement = sqlStatement(sql, parameters, expectedResult);
+                writeBehind.submit(sql, () -> client.execute(statement).close());
+                return 0L;
+            }
+        }
+        flushDeferredUpdates();
 
+        // the permit is held until the first page arrives, a result set left open doesn't hold it
+        AdmissionControl admissionControl = client.getAdmissionControl();
+        AdmissionControl.Permit permit = admissionControl == null ? null
+                : admissionControl.acquire(getWorkloadClass(), SECONDS.toMillis(queryTimeout));
+        try {
+            SqlResult sqlResult = executeOnClient(sql, parameters, expectedResult, routing);
+            if (!sqlResult.isRowSet() && isSchemaChange(sql)) {
+                client.invalidateMetadata();
+            }
+            return sqlResult;
+        } catch (HazelcastSqlException e) {
+            throw JdbcUtils.sqlException(e);
+        } finally {
+            if (permit != null) {
+                permit.release();
+            }
+        }
+    }
+
+    /**
+     * Waits for the updates executed asynchronously or buffered until commit, so that
+     * the next statement sees them.
+     */
+    private void flushDeferredUpdates() throws SQLException {
+        WriteBuffer writeBuffer = client.getWriteBuffer();
+        if (writeBuffer != null && !connection.getAutoCommit()) {
+            writeBuffer.flush(client);
+        }
+        WriteBehind writeBehind = client.getWriteBehind();
+        if (writeBehind != null) {
+            writeBehind.flush();
+        }
+    }
+
+    private void setResult(Object result) throws SQLException {
+        if (result instanceof SqlResult && ((SqlResult) result).isRowSet()) {
+            resultSet = new JdbcResultSet((SqlResult) result, this);
+            updateCount = -1;
+        } else {
+            updateCount = result instanceof SqlResult ? ((SqlResult) result).updateCount() : (Long) result;
+            closeResultSet();
+        }
+    }
+
+    private SqlResult executeOnClient(String sql, List<Object> parameters, SqlExpectedResultType expectedResult,
+                                      Routing routing) throws SQLException {
+        PointLookupBatcher batcher = client.getPointLookupBatcher();
+        if (batcher != null && parameters.size() == 1 && expectedResult != SqlExpectedResultType.UPDATE_COUNT) {
+            String batchQuery = PointLookupBatcher.batchQuery(sql);
+            if (batchQuery != null) {
+                return batcher.execute(client, sqlStatement(sql, parameters, expectedResult), batchQuery);
+            }
+        }
+        if (parameters.isEmpty() && client.isAutoParameterize()) {
+            ParameterizedSql parameterized = SqlLiteralParameterizer.parameterize(sql);
+            if (parameterized != null) {
+                try {
+                    return execute(sqlStatement(parameterized.getSql(), parameterized.getParameters(), expectedResult),
+                            routing);
+                } catch (HazelcastSqlException e) {
+                    if (e.getCode() != SqlErrorCode.PARSING && e.getCode() != SqlErrorCode.DATA_EXCEPTION) {
+                        throw e;
+                    }
+                    // the rewritten query was rejected, for example because a parameter doesn't fit the
+                    // type of the column, execute the query as written
+                }
+            }
+        }
+        return execute(sqlStatement(sql, parameters, expectedResult), routing);
+    }
+
+    /**
+     * Executes the statement, routing it to the owner of the partition argument if the
+     * cluster reported the argument for an earlier execution of the same SQL on this connection.
+     * Queries are deduplicated with identical concurrent queries if single-flight is enabled,
+     * otherwise slow queries are hedged if hedging is enabled.
+     */
+    private SqlResult execute(SqlStatement statement, Routing routing) throws SQLException {
+        List<Object> parameters = statement.getParameters();
+        if (!parameters.isEmpty()) {
+            client.getPartitionArgumentIndex(statement.getSql()).ifPresent(statement::setPartitionArgumentIndex);
+        }
+        SingleFlight singleFlight = client.getSingleFlight();
+        HedgedExecution hedgedExecution = client.getHedgedExecution();
+        SqlResult result;
+        if (singleFlight != null && statement.getExpectedResultType() != SqlExpectedResultType.UPDATE_COUNT
+                && SingleFlight.isShareable(statement.getSql())) {
+            result = singleFlight.execute(client, statement);
+        } else if (hedgedExecution != null && HedgedExecution.isHedgeable(statement)) {
+            result = hedgedExecution.execute(client, statement);
+        } else {
+            result = client.execute(statement);
+        }
+
+        // a result generated by the driver carries the partition argument only if it shares the rows of a query
+        int index = result instanceof AbstractSqlResult ? ((AbstractSqlResult) result).getPartitionArgumentIndex() : -1;
+        if (result instanceof AbstractSqlResult && (!(result instanceof FixedRowsSqlResult) || index >= 0)) {
+            client.setPartitionArgumentIndex(statement.getSql(), index);
+            if (index >= 0 && index < parameters.size()) {
+                routing.partitionArgumentIndex = index;
+                routing.partitionKey = parameters.get(index);
+            }
+        } else if (statement.getPartitionArgumentIndex() >= 0) {
+            routing.partitionArgumentIndex = statement.getPartitionArgumentIndex();
+            routing.partitionKey = parameters.get(routing.partitionArgumentIndex);
+        }
+        return result;
+    }
+
+    private static boolean isDml(String sql) {
+        String keyword = SqlTokenizer.firstKeyword(sql);
+        return "INSERT".equals(keyword) || "SINK".equals(keyword) || "UPDATE".equals(keyword)
+                || "DELETE".equals(keyword);
+    }
+
+    private static boolean isSchemaChange(String sql) {
+        String keyword = SqlTokenizer.firstKeyword(sql);
+        return "CREATE".equals(keyword) || "DROP".equals(keyword) || "ALTER".equals(keyword);
+    }
+
+    private SqlStatement sqlStatement(String sql, List<Object> parameters, SqlExpectedResultType expectedResult) {
         SqlStatement query = new SqlStatement(sql)
                 .setParameters(parameters)
                 .setExpectedResultType(expectedResult)
@@ -406,21 +722,18 @@ public class JdbcStatement implements Statement {
         if (queryTimeout != 0) {
             query.setTimeoutMillis(SECONDS.toMillis(queryTimeout));
         }
-        if (fetchSize != 0) {
-            query.setCursorBufferSize(fetchSize);
-        }
-        try {
-            SqlResult sqlResult = client.execute(query);
-            if (sqlResult.isRowSet()) {
-                resultSet = new JdbcResultSet(sqlResult, this);
-                updateCount = -1;
-            } else {
-                updateCount = sqlResult.updateCount();
-                closeResultSet();
-            }
-        } catch (HazelcastSqlException e) {
-            throw new SQLException(e.getMessage(), e);
+        int cursorBufferSize = fetchSize != 0 ? fetchSize : client.getDefaultCursorBufferSize();
+        if (cursorBufferSize != 0) {
+            query.setCursorBufferSize(cursorBufferSize);
         }
+        return query;
+    }
+
+    /**
+     * @return the client executing the statement, {@code null} for the statements of metadata result sets
+     */
+    HazelcastSqlClient getClient() {
+        return client;
     }
 
     void checkClosed() throws SQLException {
@@ -443,4 +756,37 @@ public class JdbcStatement implements Statement {
             resultSet = null;
         }
     }
+
+    /**
+     * Closes the results of a script not returned yet and the result sets kept open by {@link #getMoreResults(int)}.
+     */
+    private void closeMoreResults() throws SQLException {
+        while (!moreResults.isEmpty()) {
+            closeResult(moreResults.poll());
+        }
+        closeKeptResultSets();
+    }
+
+    private void closeKeptResultSets() throws SQLException {
+        // closing a result set may close this statement on completion, iterate over a copy
+        List<ResultSet> resultSets = new ArrayList<>(keptResultSets);
+        keptResultSets.clear();
+        for (ResultSet rs : resultSets) {
+            rs.close();
+        }
+    }
+
+    private static void closeResult(Object result) {
+        if (result instanceof SqlResult) {
+            ((SqlResult) result).close();
+        }
+    }
+
+    /**
+     * Partition argument of an execution, see {@link #getPartitionArgumentIndex()}.
+     */
+    private static final class Routing {
+        private int partitionArgumentIndex = -1;
+        private Object partitionKey;
+    }
 }
@@ -27,7 +27,8 @@ import java.util.regex.Pattern;
 final class JdbcUrl {
 
     private static final String PREFIX = "jdbc:hazelcast:";
-    private static final Pattern JDBC_URL_PATTERN = Pattern.compile(PREFIX + "//"
+    private static final String EMBEDDED = "embedded:";
+    private static final Pattern JDBC_URL_PATTERN = Pattern.compile(PREFIX + "(?<embedded>" + EMBEDDED + ")?//"
             + "(?<authority>\\S+?)/?"
             + "(\\?(?<parameters>\\S*))?");
 
@@ -35,14 +36,18 @@ final class JdbcUrl {
     private final String rawUrl;
     private final Properties properties = new Properties();
     private final String rawAuthority;
+    private final boolean embedded;
 
     JdbcUrl(String url, Properties properties) {
         Matcher matcher = JDBC_URL_PATTERN.matcher(url);
         if (!matcher.matches()) {
             throw new IllegalArgumentException("The URL doesn't match the structure - "
-                    + "jdbc:hazelcast://host:port[,host2:port...]/[?prop1=value1&...]");
+                    + "jdbc:hazelcast://host:port[,host2:port...]/[?prop1=value1&...] "
+                    + "or jdbc:hazelcast:embedded://instanceName/[?prop1=value1&...]");
         }
 
+        this.embedded = matcher.group("embedded") != null;
+
         this.rawAuthority = decodeUrl(matcher.group("authority"));
         this.authorities = Arrays.asList(rawAuthority.split(","));
         this.rawUrl = url;
@@ -83,6 +88,14 @@ final class JdbcUrl {
         return rawAuthority;
     }
 
+    /**
+     * @return {@code true} if the URL names a Hazelcast instance running in this JVM, which is
+     * returned by {@link #getRawAuthority()}, instead of cluster addresses
+     */
+    public boolean isEmbedded() {
+        return embedded;
+    }
+
     static boolean acceptsUrl(String url) {
         return url.startsWith(PREFIX);
     }
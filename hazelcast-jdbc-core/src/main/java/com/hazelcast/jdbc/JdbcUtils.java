@@ -15,8 +15,12 @@
  */
 package com.hazelcast.jdbc;
 
+import com.hazelcast.sql.HazelcastSqlException;
+import com.hazelcast.sql.impl.SqlErrorCode;
+
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
 
 final class JdbcUtils {
 
@@ -39,4 +43,15 @@ final class JdbcUtils {
     public static SQLException sqlException(String message) {
         return new SQLException(message);
     }
+
+    /**
+     * @return the exception reporting the error of the cluster, a {@link SQLTimeoutException}
+     * if a query or network timeout expired
+     */
+    static SQLException sqlException(HazelcastSqlException e) {
+        if (e.getCode() == SqlErrorCode.TIMEOUT) {
+            return new SQLTimeoutException(e.getMessage(), e);
+        }
+        return new SQLException(e.getMessage(), e);
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import com.hazelcast.client.util.AbstractLoadBalancer;
+import com.hazelcast.cluster.Member;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load balancer picking the data member with the fewest statements of the driver in flight.
+ * The driver counts the statements routed to the owner of their partition argument and the
+ * statements sent to the member picked by the balancer, from the execution until the first
+ * page of rows arrives. A statement whose rows are still being read isn't counted, so the
+ * balancer evens out the executions rather than the reading of large results.
+ */
+final class LeastInFlightLoadBalancer extends AbstractLoadBalancer {
+
+    private final ConcurrentMap<UUID, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @return the least loaded data member, or the least loaded lite member if the cluster
+     * has no data members
+     */
+    @Override
+    public Member next() {
+        Member[] dataMembers = getDataMembers();
+        return leastLoaded(dataMembers.length > 0 ? dataMembers : getMembers());
+    }
+
+    void started(Member member) {
+        inFlight.computeIfAbsent(member.getUuid(), uuid -> new AtomicInteger()).incrementAndGet();
+    }
+
+    void finished(Member member) {
+        AtomicInteger count = inFlight.get(member.getUuid());
+        if (count != null) {
+            count.decrementAndGet();
+        }
+    }
+
+    int inFlight(Member member) {
+        AtomicInteger count = inFlight.get(member.getUuid());
+        return count == null ? 0 : count.get();
+    }
+
+    private Member leastLoaded(Member[] members) {
+        if (members.length == 0) {
+            return null;
+        }
+        // start at a random member, so that members with the same load are picked evenly
+        int start = ThreadLocalRandom.current().nextInt(members.length);
+        Member leastLoaded = null;
+        int leastInFlight = Integer.MAX_VALUE;
+        for (int i = 0; i < members.length; i++) {
+            Member member = members[(start + i) % members.length];
+            int count = inFlight(member);
+            if (count < leastInFlight) {
+                leastLoaded = member;
+                leastInFlight = count;
+            }
+        }
+        return leastLoaded;
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.config.ClientNetworkConfig;
+import com.hazelcast.client.properties.ClientProperty;
+import com.hazelcast.cluster.Address;
+import com.hazelcast.cluster.InitialMembershipEvent;
+import com.hazelcast.cluster.InitialMembershipListener;
+import com.hazelcast.cluster.Member;
+import com.hazelcast.cluster.MembershipEvent;
+import com.hazelcast.config.DiscoveryConfig;
+import com.hazelcast.config.ListenerConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.LifecycleEvent;
+import com.hazelcast.core.LifecycleListener;
+import com.hazelcast.instance.EndpointQualifier;
+import com.hazelcast.instance.ProtocolType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Addresses of the members of clusters found by discovery (AWS, GCP, Azure, Kubernetes,
+ * Eureka or a discovery SPI strategy), by URL and properties. A new client first tries
+ * to connect to the cached addresses directly, without discovery, and falls back to
+ * discovery if that fails. Connected clients keep the addresses up to date from the
+ * member list pushed by the cluster.
+ * <p>
+ * Hazelcast Cloud connections ({@code discoveryToken}) aren't cached, their addresses
+ * are translated by the discovery. Clients started with {@code asyncStart} don't use the
+ * cached addresses, they don't fail if they can't connect, so there would be no fallback.
+ * <p>
+ * The lifecycle listeners of the configuration don't receive the shutdown of a client which
+ * failed to connect to the cached addresses, the connection falls back to discovery instead.
+ */
+final class MemberAddressCache {
+
+    /** Time to connect to cached addresses, before falling back to discovery. */
+    static final long CACHED_CONNECT_TIMEOUT_MILLIS = 2_000;
+
+    private static final EndpointQualifier PUBLIC_CLIENT_ENDPOINT = EndpointQualifier.resolve(ProtocolType.CLIENT,
+            "public");
+    private static final ConcurrentMap<List<Object>, List<String>> ADDRESSES = new ConcurrentHashMap<>();
+
+    private MemberAddressCache() {
+    }
+
+    /**
+     * Creates a client, connecting to the cached addresses of the cluster if the
+     * configuration uses discovery and the addresses are known.
+     */
+    static HazelcastInstance newClient(JdbcUrl url, ClientConfig config,
+                                       Function<ClientConfig, HazelcastInstance> factory) {
+        if (!usesDiscovery(config)) {
+            return factory.apply(config);
+        }
+        List<Object> key = key(url);
+        config.addListenerConfig(new ListenerConfig(new Recorder(key)));
+        List<String> addresses = ADDRESSES.get(key);
+        if (addresses != null && !config.getConnectionStrategyConfig().isAsyncStart()) {
+            ClientConfig direct = withAddresses(config, addresses);
+            AtomicBoolean connected = new AtomicBoolean();
+            List<ListenerConfig> listenerConfigs = new ArrayList<>();
+            for (ListenerConfig listenerConfig : direct.getListenerConfigs()) {
+                listenerConfigs.add(listenerConfig.getImplementation() instanceof LifecycleListener
+                        ? new ListenerConfig(new ConnectedLifecycleListener(
+                                (LifecycleListener) listenerConfig.getImplementation(), connected))
+                        : listenerConfig);
+            }
+            direct.setListenerConfigs(listenerConfigs);
+            try {
+                HazelcastInstance client = factory.apply(direct);
+                connected.set(true);
+                return client;
+            } catch (IllegalStateException e) {
+                // the members moved, discover them again
+                ADDRESSES.remove(key, addresses);
+            }
+        }
+        return factory.apply(config);
+    }
+
+    static List<String> get(JdbcUrl url) {
+        return ADDRESSES.get(key(url));
+    }
+
+    static boolean usesDiscovery(ClientConfig config) {
+        ClientNetworkConfig network = config.getNetworkConfig();
+        if (network.getCloudConfig().isEnabled()) {
+            return false;
+        }
+        return network.getAwsConfig().isEnabled() || network.getGcpConfig().isEnabled()
+                || network.getAzureConfig().isEnabled() || network.getKubernetesConfig().isEnabled()
+                || network.getEurekaConfig().isEnabled() || network.getDiscoveryConfig().isEnabled();
+    }
+
+    /**
+     * @return a copy of the configuration connecting to the given addresses, with discovery disabled
+     */
+    static ClientConfig withAddresses(ClientConfig config, List<String> addresses) {
+        ClientConfig copy = new ClientConfig(config);
+        ClientNetworkConfig network = copy.getNetworkConfig();
+        network.getAwsConfig().setEnabled(false);
+        network.getGcpConfig().setEnabled(false);
+        network.getAzureConfig().setEnabled(false);
+        network.getKubernetesConfig().setEnabled(false);
+        network.getEurekaConfig().setEnabled(false);
+        network.setDiscoveryConfig(new DiscoveryConfig());
+        copy.setProperty(ClientProperty.DISCOVERY_SPI_ENABLED.getName(), "false");
+        network.getAutoDetectionConfig().setEnabled(false);
+        network.setAddresses(new ArrayList<>(addresses));
+        long connectTimeout = copy.getConnectionStrategyConfig().getConnectionRetryConfig()
+                .getClusterConnectTimeoutMillis();
+        if (connectTimeout < 0 || connectTimeout > CACHED_CONNECT_TIMEOUT_MILLIS) {
+            copy.getConnectionStrategyConfig().getConnectionRetryConfig()
+                    .setClusterConnectTimeoutMillis(CACHED_CONNECT_TIMEOUT_MILLIS);
+        }
+        return copy;
+    }
+
+    static String addressOf(Member member) {
+        Address address = member.getAddressMap().get(PUBLIC_CLIENT_ENDPOINT);
+        if (address == null) {
+            address = member.getAddress();
+        }
+        return address.getHost() + ":" + address.getPort();
+    }
+
+    private static List<Object> key(JdbcUrl url) {
+        return Arrays.asList(url.getRawUrl(), new TreeMap<>(url.getProperties()));
+    }
+
+    /**
+     * Forwards the events of a client connecting to cached addresses, except for its shutdown
+     * until it's connected: a client which fails to connect is shut down, and replaced by a
+     * client using discovery.
+     */
+    private static final class ConnectedLifecycleListener implements LifecycleListener {
+        private final LifecycleListener delegate;
+        private final AtomicBoolean connected;
+
+        ConnectedLifecycleListener(LifecycleListener delegate, AtomicBoolean connected) {
+            this.delegate = delegate;
+            this.connected = connected;
+        }
+
+        @Override
+        public void stateChanged(LifecycleEvent event) {
+            LifecycleEvent.LifecycleState state = event.getState();
+            if (connected.get() || (state != LifecycleEvent.LifecycleState.SHUTTING_DOWN
+                    && state != LifecycleEvent.LifecycleState.SHUTDOWN)) {
+                delegate.stateChanged(event);
+            }
+        }
+    }
+
+    /**
+     * Stores the addresses of the current members on connection and on every membership change.
+     */
+    private static final class Recorder implements InitialMembershipListener {
+        private final List<Object> key;
+
+        Recorder(List<Object> key) {
+            this.key = key;
+        }
+
+        @Override
+        public void init(InitialMembershipEvent event) {
+            record(event.getMembers());
+        }
+
+        @Override
+        public void memberAdded(MembershipEvent event) {
+            record(event.getMembers());
+        }
+
+        @Override
+        public void memberRemoved(MembershipEvent event) {
+            record(event.getMembers());
+        }
+
+        private void record(Collection<Member> members) {
+            if (members.isEmpty()) {
+                return;
+            }
+            List<String> addresses = new ArrayList<>(members.size());
+            for (Member member : members) {
+                addresses.add(addressOf(member));
+            }
+            ADDRESSES.put(key, Collections.unmodifiableList(addresses));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import com.hazelcast.client.impl.clientside.HazelcastClientInstanceImpl;
+import com.hazelcast.client.impl.clientside.HazelcastClientProxy;
+import com.hazelcast.client.impl.connection.ClientConnection;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.SqlCloseCodec;
+import com.hazelcast.client.impl.protocol.codec.SqlExecuteCodec;
+import com.hazelcast.client.impl.spi.impl.ClientInvocation;
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.sql.HazelcastSqlException;
+import com.hazelcast.sql.SqlResult;
+import com.hazelcast.sql.SqlRowMetadata;
+import com.hazelcast.sql.SqlStatement;
+import com.hazelcast.sql.impl.CoreQueryUtils;
+import com.hazelcast.sql.impl.QueryId;
+import com.hazelcast.sql.impl.SqlErrorCode;
+import com.hazelcast.sql.impl.client.SqlClientResult;
+import com.hazelcast.sql.impl.client.SqlClientService;
+import com.hazelcast.sql.impl.client.SqlError;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * A query coordinated by the given member. The SQL service of the client chooses the
+ * coordinator itself and returns only after the first page arrives, so the driver sends
+ * the request which the SQL service sends to the connection to the member. Unlike a query
+ * executed by the SQL service, the query can be cancelled before its first page arrives.
+ */
+final class MemberQuery {
+
+    private final HazelcastClientInstanceImpl client;
+    private final SqlClientService sqlService;
+    private final ClientConnection connection;
+    private final String sql;
+    private final QueryId queryId;
+    private final ClientMessage request;
+    private final SqlClientResult result;
+    private volatile boolean cancelled;
+
+    private MemberQuery(HazelcastClientInstanceImpl client, ClientConnection connection, SqlStatement statement) {
+        this.client = client;
+        this.sqlService = (SqlClientService) client.getSql();
+        this.connection = connection;
+        this.sql = statement.getSql();
+        InternalSerializationService serializationService = client.getSerializationService();
+        List<Data> parameters = new ArrayList<>(statement.getParameters().size());
+        for (Object parameter : statement.getParameters()) {
+            parameters.add(serializationService.toData(parameter));
+        }
+        Function<QueryId, ClientMessage> requestSupplier = id -> SqlExecuteCodec.encodeRequest(statement.getSql(),
+                parameters, statement.getTimeoutMillis(), statement.getCursorBufferSize(), statement.getSchema(),
+                statement.getExpectedResultType().getId(), id, false);
+        queryId = QueryId.create(connection.getRemoteUuid());
+        request = requestSupplier.apply(queryId);
+        result = new SqlClientResult(sqlService, connection, queryId,
+                statement.getCursorBufferSize(), requestSupplier, statement);
+    }
+
+    /**
+     * @return the query, or {@code null} if the instance isn't a client or the client isn't
+     * connected to the member
+     */
+    static MemberQuery create(HazelcastInstance instance, Member member, SqlStatement statement) {
+        if (!(instance instanceof HazelcastClientProxy)) {
+            return null;
+        }
+        HazelcastClientInstanceImpl client = ((HazelcastClientProxy) instance).client;
+        ClientConnection connection = client.getConnectionManager().getActiveConnection(member.getUuid());
+        return connection == null ? null : new MemberQuery(client, connection, statement);
+    }
+
+    /**
+     * Sends the query to the member.
+     *
+     * @return the result, completed when its first page arrives
+     */
+    CompletableFuture<SqlResult> start() {
+        return new ClientInvocation(client, request, null, connection).invoke()
+                .handle(this::onResponse);
+    }
+
+    /**
+     * Sends the query to the member and waits for its first page.
+     */
+    SqlResult execute() {
+        CompletableFuture<SqlResult> future = start();
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+            throw new HazelcastSqlException(null, SqlErrorCode.CANCELLED_BY_USER, "Interrupted", e, null);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new HazelcastSqlException(null, SqlErrorCode.GENERIC, e.getCause().getMessage(), e.getCause(), null);
+        }
+    }
+
+    /**
+     * Cancels the query, also before its first page arrives. The result completes with an error.
+     */
+    void cancel() {
+        cancelled = true;
+        result.close();
+    }
+
+    private SqlResult onResponse(ClientMessage response, Throwable error) {
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            HazelcastSqlException exception = CoreQueryUtils.toPublicException(cause,
+                    client.getConnectionManager().getClientUuid());
+            result.onExecuteError(exception);
+            throw exception;
+        }
+        SqlExecuteCodec.ResponseParameters parameters = SqlExecuteCodec.decodeResponse(response);
+        SqlError sqlError = parameters.error;
+        if (sqlError != null) {
+            Exception cause = sqlError.isCauseStackTraceExists() ? new Exception(sqlError.getCauseStackTrace()) : null;
+            HazelcastSqlException exception = new HazelcastSqlException(sqlError.getOriginatingMemberId(),
+                    sqlError.getCode(), sqlError.getMessage(), cause, sqlError.getSuggestion());
+            result.onExecuteError(exception);
+            throw exception;
+        }
+        if (parameters.isPartitionArgumentIndexExists) {
+            // route the next executions of the statement as the SQL service would
+            if (parameters.partitionArgumentIndex >= 0) {
+                sqlService.partitionArgumentIndexCache.put(sql, parameters.partitionArgumentIndex);
+            } else {
+                sqlService.partitionArgumentIndexCache.remove(sql);
+            }
+        }
+        result.onExecuteResponse(parameters.rowMetadata == null ? null : new SqlRowMetadata(parameters.rowMetadata),
+                parameters.rowPage, parameters.updateCount,
+                parameters.isIsInfiniteRowsExists ? parameters.isInfiniteRows : null);
+        if (cancelled) {
+            // the cancellation might have reached the member before the query, close it again
+            new ClientInvocation(client, SqlCloseCodec.encodeRequest(queryId), null, connection).invoke();
+        }
+        return result;
+    }
+}
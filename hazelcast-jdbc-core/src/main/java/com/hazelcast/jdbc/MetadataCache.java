@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches results of {@link java.sql.DatabaseMetaData} methods which require a
+ * round trip to the cluster. The entries expire after a configured time-to-live
+ * and are invalidated when a statement changing the schema goes through the driver.
+ * The cache is disabled if the time-to-live is not positive.
+ */
+final class MetadataCache {
+
+    private final long ttlNanos;
+    private final ConcurrentMap<Object, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented on every invalidation, so that a value loaded concurrently with
+     * an invalidation isn't put into the cache.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    MetadataCache(long ttl, TimeUnit unit) {
+        this.ttlNanos = unit.toNanos(ttl);
+    }
+
+    boolean isEnabled() {
+        return ttlNanos > 0;
+    }
+
+    /**
+     * Returns the cached value for the given key, or loads it if it's not cached or expired.
+     *
+     * @param key key of the value, must implement {@code equals} and {@code hashCode}
+     * @param loader loads the value if needed
+     */
+    @SuppressWarnings("unchecked")
+    <T, E extends Exception> T get(Object key, Loader<T, E> loader) throws E {
+        if (!isEnabled()) {
+            return loader.load();
+        }
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.loadedAt < ttlNanos) {
+            return (T) entry.value;
+        }
+        long loadGeneration = generation.get();
+        T value = loader.load();
+        entries.put(key, new Entry(value, now));
+        if (generation.get() != loadGeneration) {
+            entries.remove(key);
+        }
+        return value;
+    }
+
+    void invalidate() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    @FunctionalInterface
+    interface Loader<T, E extends Exception> {
+        T load() throws E;
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long loadedAt;
+
+        private Entry(Object value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import com.hazelcast.sql.SqlColumnMetadata;
+import com.hazelcast.sql.SqlColumnType;
+import com.hazelcast.sql.SqlResult;
+import com.hazelcast.sql.SqlRow;
+import com.hazelcast.sql.SqlRowMetadata;
+import com.hazelcast.sql.SqlStatement;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Coalesces concurrent key lookups of the same statement into one query. A statement of
+ * the form {@code SELECT <columns> FROM <mapping> WHERE __key = ?} is executed at once if
+ * no lookup of the same statement is in flight. Lookups arriving while one is in flight
+ * are batched: the first lookup of a batch waits until the batch window elapses or the
+ * batch is full, executes {@code SELECT <columns>, __key FROM <mapping> WHERE __key IN (?, ...)}
+ * and hands each caller the rows of its key. A lookup whose key can't be matched with the keys
+ * returned by the cluster, or whose batch fails, is executed on its own.
+ */
+final class PointLookupBatcher {
+
+    /** Result of {@link #toKeyType} for a key the driver can't convert */
+    static final Object NOT_CONVERTIBLE = new Object();
+
+    private static final String IDENTIFIER = "(?:[A-Za-z_$][\\w$]*|\"(?:[^\"]|\"\")+\")";
+    private static final Pattern POINT_LOOKUP = Pattern.compile(
+            "\\s*SELECT\\s+(\\*|" + IDENTIFIER + "(?:\\s*,\\s*" + IDENTIFIER + ")*)"
+                    + "\\s+FROM\\s+(" + IDENTIFIER + "(?:\\s*\\.\\s*" + IDENTIFIER + ")?)"
+                    + "\\s+WHERE\\s+__key\\s*=\\s*\\?\\s*;?\\s*",
+            Pattern.CASE_INSENSITIVE);
+
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ConcurrentMap<List<String>, Batch> openBatches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<List<String>, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    PointLookupBatcher(long window, TimeUnit unit, int maxBatchSize) {
+        this.windowNanos = unit.toNanos(window);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * @return the query fetching the rows of multiple keys, or {@code null} if the statement
+     * isn't a key lookup which can be batched
+     */
+    static String batchQuery(String sql) {
+        Matcher matcher = POINT_LOOKUP.matcher(sql);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return "SELECT " + matcher.group(1) + ", __key FROM " + matcher.group(2) + " WHERE __key IN ";
+    }
+
+    /**
+     * Executes a key lookup as part of a batch.
+     *
+     * @param client client to execute the batch with, if this lookup starts a batch
+     * @param statement the key lookup with the key as the only parameter
+     * @param batchQuery the result of {@link #batchQuery} for the statement
+     */
+    SqlResult execute(HazelcastSqlClient client, SqlStatement statement, String batchQuery) throws SQLException {
+        Object key = statement.getParameters().get(0);
+        List<String> batchKey = Arrays.asList(statement.getSql(), statement.getSchema());
+
+        AtomicInteger running = inFlight.computeIfAbsent(batchKey, k -> new AtomicInteger());
+        if (running.compareAndSet(0, 1)) {
+            // there's nothing to batch with, don't delay the lookup
+            try {
+                return client.execute(statement);
+            } finally {
+                finished(batchKey, running);
+            }
+        }
+
+        Batch batch;
+        boolean leader = false;
+        while (true) {
+            batch = openBatches.get(batchKey);
+            if (batch == null) {
+                Batch newBatch = new Batch();
+                batch = openBatches.putIfAbsent(batchKey, newBatch);
+                if (batch == null) {
+                    batch = newBatch;
+                    leader = true;
+                }
+            }
+            if (batch.add(key, maxBatchSize)) {
+                break;
+            }
+            // the batch was closed in the meantime
+            openBatches.remove(batchKey, batch);
+            leader = false;
+        }
+
+        if (leader) {
+            try {
+                batch.full.await(windowNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            openBatches.remove(batchKey, batch);
+            running = inFlight.computeIfAbsent(batchKey, k -> new AtomicInteger());
+            running.incrementAndGet();
+            try {
+                batch.executeAndComplete(client, statement, batchQuery);
+            } finally {
+                finished(batchKey, running);
+            }
+        }
+
+        BatchResult result;
+        try {
+            result = batch.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a batched key lookup", e);
+        } catch (ExecutionException e) {
+            // the batch failed, for example because the key of another lookup doesn't fit the
+            // key column, the lookup executed as written reports its own outcome
+            return client.execute(statement);
+        }
+        List<SqlRow> rows = result.rows(key);
+        if (rows == null) {
+            // the key can't be compared with the keys returned by the cluster
+            return client.execute(statement);
+        }
+        return new FixedRowsSqlResult(result.metadata, rows);
+    }
+
+    private void finished(List<String> batchKey, AtomicInteger running) {
+        if (running.decrementAndGet() == 0) {
+            // a lookup racing with the removal may be executed at once too, which is harmless
+            inFlight.remove(batchKey, running);
+        }
+    }
+
+    /**
+     * Normalizes the key so that the bound value matches the value returned by the cluster,
+     * which is converted to the type of the key column.
+     */
+    static Object normalize(Object key) {
+        if (key instanceof Byte || key instanceof Short || key instanceof Integer || key instanceof Long) {
+            return ((Number) key).longValue();
+        }
+        if (key instanceof BigInteger) {
+            return normalize(new BigDecimal((BigInteger) key));
+        }
+        if (key instanceof BigDecimal) {
+            BigDecimal decimal = ((BigDecimal) key).stripTrailingZeros();
+            try {
+                return decimal.longValueExact();
+            } catch (ArithmeticException e) {
+                return decimal;
+            }
+        }
+        if (key instanceof Float || key instanceof Double) {
+            double value = ((Number) key).doubleValue();
+            return value == Math.rint(value) && Math.abs(value) < Long.MAX_VALUE ? (Object) (long) value : value;
+        }
+        if (key instanceof Character) {
+            return key.toString();
+        }
+        return key;
+    }
+
+    /**
+     * Converts a bound key to the type of the key column, which the cluster converts it to
+     * when it compares it with the keys.
+     *
+     * @return the converted key, or {@link #NOT_CONVERTIBLE} if the driver can't convert it
+     */
+    static Object toKeyType(Object key, SqlColumnType keyType) {
+        try {
+            switch (keyType) {
+                case TINYINT:
+                case SMALLINT:
+                case INTEGER:
+                case BIGINT:
+                    Object integral = key instanceof String ? Long.valueOf(((String) key).trim()) : normalize(key);
+                    return integral instanceof Long ? integral : NOT_CONVERTIBLE;
+                case DECIMAL:
+                    return key instanceof String || key instanceof Number
+                            ? new BigDecimal(key.toString().trim())
+                            : NOT_CONVERTIBLE;
+                case REAL:
+                case DOUBLE:
+                    return toApproximate(key, keyType);
+                case VARCHAR:
+                    return key instanceof String || key instanceof Character || isIntegral(key)
+                            ? key.toString()
+                            : NOT_CONVERTIBLE;
+                case BOOLEAN:
+                    return key instanceof Boolean ? key : NOT_CONVERTIBLE;
+                default:
+                    return key;
+            }
+        } catch (NumberFormatException e) {
+            return NOT_CONVERTIBLE;
+        }
+    }
+
+    private static Object toApproximate(Object key, SqlColumnType keyType) {
+        double value;
+        if (key instanceof String) {
+            value = Double.parseDouble(((String) key).trim());
+        } else if (key instanceof Number) {
+            value = ((Number) key).doubleValue();
+        } else {
+            return NOT_CONVERTIBLE;
+        }
+        return keyType == SqlColumnType.REAL ? (double) (float) value : value;
+    }
+
+    private static boolean isIntegral(Object key) {
+        return key instanceof Byte || key instanceof Short || key instanceof Integer || key instanceof Long
+                || key instanceof BigInteger;
+    }
+
+    private static final class Batch {
+        private final List<Object> keys = new ArrayList<>();
+        private final CountDownLatch full = new CountDownLatch(1);
+        private final CompletableFuture<BatchResult> result = new CompletableFuture<>();
+        private boolean closed;
+
+        /**
+         * @return {@code false} if the batch doesn't accept more keys
+         */
+        synchronized boolean add(Object key, int maxSize) {
+            if (closed) {
+                return false;
+            }
+            keys.add(key);
+            if (keys.size() >= maxSize) {
+                closed = true;
+                full.countDown();
+            }
+            return true;
+        }
+
+        synchronized List<Object> close() {
+            closed = true;
+            return new ArrayList<>(keys);
+        }
+
+        void executeAndComplete(HazelcastSqlClient client, SqlStatement statement, String batchQuery) {
+            // duplicate keys are fetched once
+            Map<Object, Object> distinctKeys = new LinkedHashMap<>();
+            for (Object key : close()) {
+                distinctKeys.putIfAbsent(normalize(key), key);
+            }
+            StringBuilder sql = new StringBuilder(batchQuery).append('(');
+            for (int i = 0; i < distinctKeys.size(); i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            sql.append(')');
+            SqlStatement batchStatement = statement.copy()
+                    .setSql(sql.toString())
+                    .setParameters(new ArrayList<>(distinctKeys.values()));
+            // the keys may belong to any partitions
+            batchStatement.setPartitionArgumentIndex(-1);
+
+            try (SqlResult sqlResult = client.execute(batchStatement)) {
+                SqlRowMetadata batchMetadata = sqlResult.getRowMetadata();
+                int columnCount = batchMetadata.getColumnCount() - 1;
+                List<SqlColumnMetadata> columns = new ArrayList<>(batchMetadata.getColumns().subList(0, columnCount));
+                SqlRowMetadata metadata = new SqlRowMetadata(columns);
+                SqlColumnType keyType = batchMetadata.getColumn(columnCount).getType();
+
+                Map<Object, List<SqlRow>> rows = new HashMap<>();
+                for (SqlRow row : sqlResult) {
+                    Object[] values = new Object[columnCount];
+                    for (int i = 0; i < columnCount; i++) {
+                        values[i] = row.getObject(i);
+                    }
+                    rows.computeIfAbsent(normalize(row.getObject(columnCount)), k -> new ArrayList<>())
+                            .add(FixedRowsSqlResult.row(metadata, values));
+                }
+                result.complete(new BatchResult(metadata, keyType, rows));
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        }
+    }
+
+    private static final class BatchResult {
+        private final SqlRowMetadata metadata;
+        private final SqlColumnType keyType;
+        /** Rows by the normalized key */
+        private final Map<Object, List<SqlRow>> rows;
+
+        private BatchResult(SqlRowMetadata metadata, SqlColumnType keyType, Map<Object, List<SqlRow>> rows) {
+            this.metadata = Objects.requireNonNull(metadata);
+            this.keyType = keyType;
+            this.rows = rows;
+        }
+
+        /**
+         * @return the rows of the bound key, or {@code null} if it can't be converted to the
+         * type of the key column
+         */
+        List<SqlRow> rows(Object key) {
+            Object converted = toKeyType(key, keyType);
+            return converted == NOT_CONVERTIBLE ? null : rows.getOrDefault(normalize(converted), Collections.emptyList());
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.MapEvent;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryExpiredListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.map.listener.MapClearedListener;
+import com.hazelcast.map.listener.MapEvictedListener;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Keeps the rows of a query over an IMap mapping fresh: delivers the rows of the query once,
+ * then the changes of the matching rows. Changes are observed with an entry listener on the
+ * IMap, each changed key is read again with a key lookup, so that only changed rows are read
+ * and the condition is evaluated with SQL semantics. Changes are delivered on a thread of the
+ * subscription, in the order the entry events were received.
+ * <p>
+ * The listener is registered before the snapshot query, so no change is lost, but a change
+ * made while the snapshot is read may be delivered twice.
+ */
+public final class QuerySubscription implements AutoCloseable {
+
+    private final IMap<Object, Object> map;
+    private final ExecutorService deliverer;
+    private final PreparedStatement rowStatement;
+    private final ChangeListener listener;
+    private final UUID registrationId;
+    private volatile boolean closed;
+
+    private QuerySubscription(JdbcConnection connection, String mapName, String mapping, String condition,
+                              ChangeListener listener) throws SQLException {
+        this.listener = listener;
+        String select = "SELECT __key, * FROM " + quote(mapping);
+        rowStatement = connection.prepareStatement(select + " WHERE __key = ?"
+                + (condition == null ? "" : " AND (" + condition + ")"));
+        deliverer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hazelcast-jdbc-subscription-" + mapping);
+            thread.setDaemon(true);
+            return thread;
+        });
+        map = connection.getClientInstance().getMap(mapName);
+        UUID listenerId = null;
+        try {
+            listenerId = map.addEntryListener(new Listener(), false);
+            PreparedStatement snapshotStatement = connection.prepareStatement(select
+                    + (condition == null ? "" : " WHERE " + condition));
+            deliverer.execute(() -> deliverSnapshot(snapshotStatement));
+        } catch (SQLException | RuntimeException e) {
+            try {
+                if (listenerId != null) {
+                    map.removeEntryListener(listenerId);
+                }
+            } catch (RuntimeException suppressed) {
+                e.addSuppressed(suppressed);
+            } finally {
+                deliverer.shutdownNow();
+                rowStatement.close();
+            }
+            throw e;
+        }
+        registrationId = listenerId;
+    }
+
+    /**
+     * @param mapping   name of an IMap mapping in the current schema of the connection, quoted by the subscription
+     * @param condition SQL condition on the columns of the mapping, or {@code null} to subscribe to all rows.
+     *                  The condition is inserted into the queries as it is, so it must be trusted SQL
+     */
+    static QuerySubscription start(JdbcConnection connection, String mapping, String condition,
+                                   ChangeListener listener) throws SQLException {
+        String mapName;
+        try (PreparedStatement statement = connection.prepareStatement("SELECT mapping_external_name "
+                + "FROM information_schema.mappings "
+                + "WHERE mapping_type = 'IMap' AND table_schema = ? AND table_name = ?")) {
+            statement.setString(1, connection.getSchema());
+            statement.setString(2, mapping);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("IMap mapping not found: " + mapping);
+                }
+                mapName = JdbcDataBaseMetadata.IMapTable.unquote(rs.getString(1));
+            }
+        }
+        return new QuerySubscription(connection, mapName, mapping, condition, listener);
+    }
+
+    /**
+     * Stops delivering changes.
+     */
+    @Override
+    public void close() throws SQLException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            map.removeEntryListener(registrationId);
+        } finally {
+            deliverer.shutdownNow();
+            rowStatement.close();
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private void deliverSnapshot(PreparedStatement statement) {
+        try (PreparedStatement snapshot = statement; ResultSet rs = snapshot.executeQuery()) {
+            while (!closed && rs.next()) {
+                listener.onRow(rs.getObject(1), rs);
+            }
+        } catch (SQLException e) {
+            listener.onError(e);
+        } catch (RuntimeException e) {
+            listener.onError(new SQLException(e.getMessage(), e));
+        }
+    }
+
+    private void refresh(Object key) {
+        if (closed) {
+            return;
+        }
+        try {
+            rowStatement.setObject(1, key);
+            try (ResultSet rs = rowStatement.executeQuery()) {
+                if (rs.next()) {
+                    listener.onRow(key, rs);
+                } else {
+                    listener.onDelete(key);
+                }
+            }
+        } catch (SQLException e) {
+            listener.onError(e);
+        } catch (RuntimeException e) {
+            listener.onError(new SQLException(e.getMessage(), e));
+        }
+    }
+
+    private void delete(Object key) {
+        if (!closed) {
+            listener.onDelete(key);
+        }
+    }
+
+    private void submit(Runnable task) {
+        if (closed) {
+            return;
+        }
+        try {
+            deliverer.execute(task);
+        } catch (RejectedExecutionException e) {
+            // closed concurrently
+        }
+    }
+
+    private static String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+
+    private final class Listener implements EntryAddedListener<Object, Object>, EntryUpdatedListener<Object, Object>,
+            EntryRemovedListener<Object, Object>, EntryEvictedListener<Object, Object>,
+            EntryExpiredListener<Object, Object>, MapClearedListener, MapEvictedListener {
+
+        @Override
+        public void entryAdded(EntryEvent<Object, Object> event) {
+            Object key = event.getKey();
+            submit(() -> refresh(key));
+        }
+
+        @Override
+        public void entryUpdated(EntryEvent<Object, Object> event) {
+            Object key = event.getKey();
+            submit(() -> refresh(key));
+        }
+
+        @Override
+        public void entryRemoved(EntryEvent<Object, Object> event) {
+            Object key = event.getKey();
+            submit(() -> delete(key));
+        }
+
+        @Override
+        public void entryEvicted(EntryEvent<Object, Object> event) {
+            Object key = event.getKey();
+            submit(() -> delete(key));
+        }
+
+        @Override
+        public void entryExpired(EntryEvent<Object, Object> event) {
+            Object key = event.getKey();
+            submit(() -> delete(key));
+        }
+
+        @Override
+        public void mapCleared(MapEvent event) {
+            submit(() -> listener.onError(new SQLException("The map was cleared, "
+                    + event.getNumberOfEntriesAffected() + " rows were deleted without change events")));
+        }
+
+        @Override
+        public void mapEvicted(MapEvent event) {
+            submit(() -> listener.onError(new SQLException("The map was evicted, "
+                    + event.getNumberOfEntriesAffected() + " rows were deleted without change events")));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.Executor;
+
+/**
+ * Receives the rows of a result set subscribed with {@link JdbcResultSet#subscribe(RowListener, Executor)}.
+ * The methods are called on the executor passed to {@code subscribe}, one at a time.
+ */
+public interface RowListener {
+
+    /**
+     * Called for each row. The result set is positioned on the row, read the columns with its
+     * getters. The result set must not be used outside of this method.
+     */
+    void onRow(ResultSet resultSet) throws SQLException;
+
+    /**
+     * Called after the last row.
+     */
+    default void onDone() {
+    }
+
+    /**
+     * Called if the query or {@link #onRow} failed. No further rows are delivered.
+     */
+    default void onError(SQLException e) {
+    }
+}
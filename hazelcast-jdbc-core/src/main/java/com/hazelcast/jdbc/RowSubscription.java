@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers the rows of a result set to a {@link RowListener}. Each run delivers the rows
+ * available without waiting, then the subscription is scheduled to run again after
+ * {@link #POLL_INTERVAL_MILLIS}, so that no thread is parked while a stream has no rows.
+ * Completing or cancelling the future stops the delivery and closes the result set.
+ */
+final class RowSubscription extends CompletableFuture<Void> implements Runnable {
+
+    static final long POLL_INTERVAL_MILLIS = 10;
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hazelcast-jdbc-row-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final JdbcResultSet resultSet;
+    private final RowListener listener;
+    private final Executor executor;
+
+    RowSubscription(JdbcResultSet resultSet, RowListener listener, Executor executor) {
+        this.resultSet = resultSet;
+        this.listener = listener;
+        this.executor = executor;
+    }
+
+    /**
+     * Delivers the available rows on the executor. If the executor rejects the delivery, the
+     * subscription fails.
+     */
+    void deliver() {
+        try {
+            executor.execute(this);
+        } catch (RejectedExecutionException e) {
+            fail(new SQLException("Executor rejected the delivery of rows", e));
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!isDone()) {
+                if (resultSet.tryNext()) {
+                    listener.onRow(resultSet);
+                } else if (resultSet.isAfterLast()) {
+                    listener.onDone();
+                    close();
+                    complete(null);
+                    return;
+                } else {
+                    SCHEDULER.schedule(this::deliver, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                    return;
+                }
+            }
+            // cancelled
+            close();
+        } catch (SQLException e) {
+            fail(e);
+        } catch (RuntimeException e) {
+            fail(new SQLException(e.getMessage(), e));
+        }
+    }
+
+    private void fail(SQLException e) {
+        close();
+        if (!isDone()) {
+            listener.onError(e);
+            completeExceptionally(e);
+        }
+    }
+
+    private void close() {
+        try {
+            resultSet.close();
+        } catch (SQLException ignored) {
+            // the rows were delivered or the subscription failed already
+        }
+    }
+}
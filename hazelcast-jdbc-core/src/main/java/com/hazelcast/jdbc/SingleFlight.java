@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import com.hazelcast.sql.HazelcastSqlException;
+import com.hazelcast.sql.SqlResult;
+import com.hazelcast.sql.SqlRow;
+import com.hazelcast.sql.SqlRowMetadata;
+import com.hazelcast.sql.SqlStatement;
+import com.hazelcast.sql.impl.AbstractSqlResult;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.SqlErrorCode;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Deduplicates identical queries executed concurrently. The first caller executes the query,
+ * callers which execute the same query with the same parameters and schema before its first
+ * page arrives wait for it. If any did, the first caller buffers the rows and every caller
+ * gets its own cursor over them, otherwise the rows aren't buffered. Results are not kept
+ * after the query completes.
+ * <p>
+ * At most a configured number of rows are buffered. If the query returns more, the waiting
+ * callers execute the query themselves and the first caller reads the rest of the rows
+ * from the cluster.
+ */
+final class SingleFlight {
+
+    static final int DEFAULT_MAX_SHARED_ROWS = 10_000;
+
+    private final ConcurrentMap<List<Object>, Flight> inFlight = new ConcurrentHashMap<>();
+    private final int maxSharedRows;
+
+    SingleFlight() {
+        this(DEFAULT_MAX_SHARED_ROWS);
+    }
+
+    SingleFlight(int maxSharedRows) {
+        this.maxSharedRows = maxSharedRows;
+    }
+
+    /**
+     * @return whether the statement is a query which may be shared by concurrent callers
+     */
+    static boolean isShareable(String sql) {
+        String keyword = SqlTokenizer.firstKeyword(sql);
+        return "SELECT".equals(keyword) || "WITH".equals(keyword);
+    }
+
+    SqlResult execute(HazelcastSqlClient client, SqlStatement statement) throws SQLException {
+        List<Object> key = Arrays.asList(statement.getSql(), statement.getParameters(), statement.getSchema());
+        Flight flight = new Flight();
+        Flight existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            if (!existing.join()) {
+                // the leader's first page already arrived
+                return client.execute(statement);
+            }
+            FixedRowsSqlResult shared = await(client, existing, statement.getTimeoutMillis());
+            // the leader's result couldn't be buffered
+            return shared != null ? shared.copy() : client.execute(statement);
+        }
+
+        SqlResult result;
+        try {
+            result = client.execute(statement);
+        } catch (RuntimeException e) {
+            inFlight.remove(key, flight);
+            flight.close();
+            flight.rows.completeExceptionally(e);
+            throw e;
+        }
+        inFlight.remove(key, flight);
+        if (!flight.close() || !result.isRowSet()
+                || (result instanceof AbstractSqlResult && ((AbstractSqlResult) result).isInfiniteRows())) {
+            flight.rows.complete(null);
+            return result;
+        }
+        return share(result, flight);
+    }
+
+    /**
+     * Buffers the rows of the result for the followers of the flight.
+     *
+     * @return the result of the leader
+     */
+    private SqlResult share(SqlResult result, Flight flight) {
+        try {
+            SqlRowMetadata metadata = result.getRowMetadata();
+            int partitionArgumentIndex = result instanceof AbstractSqlResult
+                    ? ((AbstractSqlResult) result).getPartitionArgumentIndex() : -1;
+            int columnCount = metadata.getColumnCount();
+            Iterator<SqlRow> iterator = result.iterator();
+            List<SqlRow> rows = new ArrayList<>();
+            while (iterator.hasNext()) {
+                if (rows.size() == maxSharedRows) {
+                    // too many rows to buffer, the followers execute the query themselves
+                    flight.rows.complete(null);
+                    return new RemainingRowsSqlResult(result, rows, iterator, partitionArgumentIndex);
+                }
+                SqlRow row = iterator.next();
+                Object[] values = new Object[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    values[i] = row.getObject(i);
+                }
+                rows.add(FixedRowsSqlResult.row(metadata, values));
+            }
+            result.close();
+            FixedRowsSqlResult buffered = new FixedRowsSqlResult(metadata, rows, partitionArgumentIndex);
+            flight.rows.complete(buffered);
+            return buffered.copy();
+        } catch (RuntimeException e) {
+            result.close();
+            flight.rows.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for the rows of the leader, up to the query timeout and the network timeout.
+     */
+    private static FixedRowsSqlResult await(HazelcastSqlClient client, Flight flight, long queryTimeoutMillis)
+            throws SQLException {
+        int networkTimeoutMillis = client.getNetworkTimeoutMillis();
+        boolean queryTimeoutFirst = queryTimeoutMillis > 0
+                && (networkTimeoutMillis == 0 || queryTimeoutMillis <= networkTimeoutMillis);
+        try {
+            if (queryTimeoutFirst) {
+                return flight.rows.get(queryTimeoutMillis, MILLISECONDS);
+            }
+            return networkTimeoutMillis == 0 ? flight.rows.get() : flight.rows.get(networkTimeoutMillis, MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (queryTimeoutFirst) {
+                throw new HazelcastSqlException(null, SqlErrorCode.TIMEOUT,
+                        "Query timeout of " + queryTimeoutMillis + " ms expired while waiting for an identical query",
+                        e, null);
+            }
+            client.networkTimeoutExpired();
+            throw new HazelcastSqlException(null, SqlErrorCode.TIMEOUT,
+                    "Network timeout of " + networkTimeoutMillis + " ms expired", e, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for an identical query", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new SQLException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * An execution of a query which identical queries may join until its first page arrives.
+     */
+    private static final class Flight {
+        /** The buffered rows, or {@code null} if the followers must execute the query themselves */
+        final CompletableFuture<FixedRowsSqlResult> rows = new CompletableFuture<>();
+        private boolean closed;
+        private boolean joined;
+
+        /**
+         * @return whether the caller joined the flight, {@code false} if it's closed
+         */
+        synchronized boolean join() {
+            if (closed) {
+                return false;
+            }
+            joined = true;
+            return true;
+        }
+
+        /**
+         * Closes the flight to new followers.
+         *
+         * @return whether any follower joined the flight
+         */
+        synchronized boolean close() {
+            closed = true;
+            return joined;
+        }
+    }
+
+    /**
+     * The result of the leader whose rows didn't fit into the buffer, the buffered rows
+     * followed by the rest of the rows of the query.
+     */
+    private static final class RemainingRowsSqlResult extends FixedRowsSqlResult {
+        private final SqlResult result;
+
+        RemainingRowsSqlResult(SqlResult result, List<SqlRow> buffered, Iterator<SqlRow> remaining,
+                               int partitionArgumentIndex) {
+            super(result.getRowMetadata(), () -> Stream.concat(buffered.stream(),
+                    StreamSupport.stream(Spliterators.spliteratorUnknownSize(remaining, 0), false)).iterator(),
+                    partitionArgumentIndex);
+            this.result = result;
+        }
+
+        @Override
+        public void close(QueryException exception) {
+            result.close();
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import com.hazelcast.jdbc.SqlTokenizer.Token;
+import com.hazelcast.jdbc.SqlTokenizer.TokenType;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rewrites a statement with inlined literals to a statement with dynamic parameters,
+ * so that statements differing only in literal values share the same plan in the
+ * cluster's plan cache. For example, {@code SELECT * FROM t WHERE id = 42} is rewritten
+ * to {@code SELECT * FROM t WHERE id = ?} with the parameter {@code 42}.
+ * <p>
+ * Only literals in positions where the type of the parameter can be inferred from the
+ * surrounding expression are replaced: operands of comparisons, {@code LIKE} and
+ * {@code BETWEEN}, and elements of {@code IN} lists. Typed literals
+ * such as {@code DATE '2021-01-01'} are left as they are. Whitespace and comments are
+ * normalized to a single space.
+ * <p>
+ * Decimal and approximate numeric literals are bound as {@code CAST(? AS DECIMAL)} and
+ * {@code CAST(? AS DOUBLE)}, the types the parser gives to the literals, so that the cluster
+ * coerces them as it coerces the literals instead of rejecting a parameter of an
+ * integer column type. Only queries are rewritten, an update failing after the rewrite
+ * might have been applied partially and can't be executed again as written.
+ */
+final class SqlLiteralParameterizer {
+
+    private static final Set<String> PARAMETERIZABLE_STATEMENTS = new HashSet<>(
+            Arrays.asList("SELECT", "WITH"));
+    private static final Set<String> COMPARISON_OPERATORS = new HashSet<>(
+            Arrays.asList("=", "<>", "!=", "<", ">", "<=", ">="));
+    private static final Set<String> TYPED_LITERAL_PREFIXES = new HashSet<>(
+            Arrays.asList("DATE", "TIME", "TIMESTAMP", "INTERVAL"));
+
+    private SqlLiteralParameterizer() {
+    }
+
+    /**
+     * @return the rewritten statement, or {@code null} if the statement is not a query, or if
+     * it already contains dynamic parameters
+     */
+    static ParameterizedSql parameterize(String sql) {
+        List<Token> tokens = SqlTokenizer.tokenize(sql);
+        List<Integer> significant = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            if (token.getType() == TokenType.PARAMETER) {
+                return null;
+            }
+            if (!token.isBlank()) {
+                significant.add(i);
+            }
+        }
+        if (significant.isEmpty() || !isParameterizable(tokens.get(significant.get(0)))) {
+            return null;
+        }
+
+        Map<Integer, String> replaced = new HashMap<>();
+        Set<Integer> dropped = new HashSet<>();
+        List<Object> parameters = new ArrayList<>();
+        Deque<Boolean> inListParens = new ArrayDeque<>();
+        Set<Integer> betweenAnds = new HashSet<>();
+        boolean betweenPending = false;
+
+        for (int s = 0; s < significant.size(); s++) {
+            Token token = tokens.get(significant.get(s));
+            Token prev = s > 0 ? tokens.get(significant.get(s - 1)) : null;
+
+            if (token.isWord("BETWEEN")) {
+                betweenPending = true;
+            } else if (token.isWord("AND") && betweenPending) {
+                betweenAnds.add(s);
+                betweenPending = false;
+            } else if (token.isSymbol("(")) {
+                inListParens.push(prev != null && prev.isWord("IN"));
+            } else if (token.isSymbol(")") && !inListParens.isEmpty()) {
+                inListParens.pop();
+            }
+
+            if (token.getType() != TokenType.STRING && token.getType() != TokenType.NUMBER) {
+                continue;
+            }
+            int rawIndex = significant.get(s);
+            if (rawIndex > 0 && tokens.get(rawIndex - 1).getType() == TokenType.WORD) {
+                // prefixed literal, such as X'00'
+                continue;
+            }
+
+            // fold the sign of a negative number into the value
+            boolean negative = false;
+            int prevIndex = s - 1;
+            if (token.getType() == TokenType.NUMBER && prev != null && (prev.isSymbol("-") || prev.isSymbol("+"))
+                    && s > 1 && isUnaryContext(tokens.get(significant.get(s - 2)))) {
+                negative = prev.isSymbol("-");
+                prevIndex = s - 2;
+            }
+            Token effectivePrev = prevIndex >= 0 ? tokens.get(significant.get(prevIndex)) : null;
+            Token next = s + 1 < significant.size() ? tokens.get(significant.get(s + 1)) : null;
+
+            if (isParameterPosition(effectivePrev, next, betweenAnds.contains(prevIndex),
+                    Boolean.TRUE.equals(inListParens.peek()))
+                    && !isLiteralComparison(tokens, significant, prevIndex, s)) {
+                Object value = toValue(token, negative);
+                replaced.put(rawIndex, placeholder(value));
+                if (prevIndex != s - 1) {
+                    dropped.add(significant.get(s - 1));
+                }
+                parameters.add(value);
+            }
+        }
+
+        return new ParameterizedSql(render(tokens, replaced, dropped), parameters);
+    }
+
+    private static boolean isParameterizable(Token first) {
+        return first.getType() == TokenType.WORD && PARAMETERIZABLE_STATEMENTS.contains(first.getText().toUpperCase());
+    }
+
+    private static boolean isUnaryContext(Token token) {
+        return token.getType() == TokenType.SYMBOL && !token.isSymbol(")");
+    }
+
+    private static boolean isParameterPosition(Token prev, Token next, boolean prevIsBetweenAnd, boolean inList) {
+        if (prev != null && prev.getType() == TokenType.WORD
+                && TYPED_LITERAL_PREFIXES.contains(prev.getText().toUpperCase())) {
+            return false;
+        }
+        if (prev != null && (isComparison(prev) || prev.isWord("LIKE") || prev.isWord("BETWEEN") || prevIsBetweenAnd)) {
+            return true;
+        }
+        if (next != null && isComparison(next)) {
+            return true;
+        }
+        return inList && prev != null && (prev.isSymbol("(") || prev.isSymbol(","))
+                && next != null && (next.isSymbol(",") || next.isSymbol(")"));
+    }
+
+    /**
+     * @return whether the literal is compared with another literal, such as in {@code 1 = 1},
+     * which has no type to infer the type of the parameter from
+     */
+    private static boolean isLiteralComparison(List<Token> tokens, List<Integer> significant, int prevIndex, int s) {
+        if (prevIndex > 0 && isComparison(tokens.get(significant.get(prevIndex)))
+                && isLiteral(tokens.get(significant.get(prevIndex - 1)))) {
+            return true;
+        }
+        if (s + 2 < significant.size() && isComparison(tokens.get(significant.get(s + 1)))) {
+            Token operand = tokens.get(significant.get(s + 2));
+            if (isLiteral(operand)) {
+                return true;
+            }
+            return (operand.isSymbol("-") || operand.isSymbol("+")) && s + 3 < significant.size()
+                    && tokens.get(significant.get(s + 3)).getType() == TokenType.NUMBER;
+        }
+        return false;
+    }
+
+    private static boolean isLiteral(Token token) {
+        return token.getType() == TokenType.STRING || token.getType() == TokenType.NUMBER;
+    }
+
+    private static boolean isComparison(Token token) {
+        return token.getType() == TokenType.SYMBOL && COMPARISON_OPERATORS.contains(token.getText());
+    }
+
+    private static Object toValue(Token token, boolean negative) {
+        String text = token.getText();
+        if (token.getType() == TokenType.STRING) {
+            return text.substring(1, text.length() - 1).replace("''", "'");
+        }
+        if (text.indexOf('e') >= 0 || text.indexOf('E') >= 0) {
+            double value = Double.parseDouble(text);
+            return negative ? -value : value;
+        }
+        if (text.indexOf('.') >= 0) {
+            BigDecimal value = new BigDecimal(text);
+            return negative ? value.negate() : value;
+        }
+        BigInteger value = new BigInteger(text);
+        if (negative) {
+            value = value.negate();
+        }
+        // the type the SQL parser gives to the literal
+        if (value.bitLength() < Integer.SIZE) {
+            return value.intValue();
+        } else if (value.bitLength() < Long.SIZE) {
+            return value.longValue();
+        }
+        return new BigDecimal(value);
+    }
+
+    /**
+     * @return the dynamic parameter replacing the literal, typed as the literal unless it's
+     * an integer
+     */
+    private static String placeholder(Object value) {
+        if (value instanceof BigDecimal) {
+            return "CAST(? AS DECIMAL)";
+        } else if (value instanceof Double) {
+            return "CAST(? AS DOUBLE)";
+        }
+        return "?";
+    }
+
+    private static String render(List<Token> tokens, Map<Integer, String> replaced, Set<Integer> dropped) {
+        return SqlTokenizer.render(tokens, 0, tokens.size(),
+                i -> dropped.contains(i) ? null : replaced.getOrDefault(i, tokens.get(i).getText()));
+    }
+
+    static final class ParameterizedSql {
+        private final String sql;
+        private final List<Object> parameters;
+
+        ParameterizedSql(String sql, List<Object> parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+
+        String getSql() {
+            return sql;
+        }
+
+        List<Object> getParameters() {
+            return parameters;
+        }
+    }
+}
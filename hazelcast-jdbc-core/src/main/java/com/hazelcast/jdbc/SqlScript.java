@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import com.hazelcast.jdbc.SqlTokenizer.Token;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Support for scripts of {@code ;}-separated statements passed to {@link JdbcStatement#execute(String)}.
+ * Consecutive queries of a script don't depend on each other and are executed concurrently on
+ * the pipeline threads of the connection, other statements are executed one at a time, after
+ * the preceding queries.
+ */
+final class SqlScript {
+
+    /** Maximum number of statements of a connection executed concurrently by its pipeline. */
+    static final int PIPELINE_THREADS = 8;
+
+    /**
+     * @return the executor of concurrent statements of a connection, also used by
+     * {@link JdbcConnection#executeQueries}. Its threads stop when idle
+     */
+    static ExecutorService newPipeline() {
+        ThreadPoolExecutor pipeline = new ThreadPoolExecutor(PIPELINE_THREADS, PIPELINE_THREADS,
+                1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "hazelcast-jdbc-pipeline");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pipeline.allowCoreThreadTimeOut(true);
+        return pipeline;
+    }
+
+    /**
+     * Executes the task on the pipeline. If the pipeline is shut down before the task runs,
+     * {@code onClosed} is called instead, so that the result of the task doesn't remain
+     * incomplete.
+     *
+     * @param onClosed receives the exception to complete the result of the task with
+     */
+    static void execute(Executor pipeline, Runnable task, Consumer<SQLException> onClosed) {
+        try {
+            pipeline.execute(new PipelineTask(task, onClosed));
+        } catch (RejectedExecutionException e) {
+            onClosed.accept(new SQLException("Connection is closed", e));
+        }
+    }
+
+    /**
+     * Shuts the pipeline down and calls {@code onClosed} of the tasks which didn't start.
+     */
+    static void shutdown(ExecutorService pipeline) {
+        for (Runnable task : pipeline.shutdownNow()) {
+            if (task instanceof PipelineTask) {
+                ((PipelineTask) task).onClosed.accept(new SQLException("Connection is closed"));
+            }
+        }
+    }
+
+    private SqlScript() {
+    }
+
+    /**
+     * Splits the script at the semicolons outside of literals, quoted identifiers and comments.
+     * Statements consisting of whitespace and comments only are dropped.
+     */
+    static List<String> split(String sql) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder statement = new StringBuilder();
+        boolean blank = true;
+        for (Token token : SqlTokenizer.tokenize(sql)) {
+            if (token.isSymbol(";")) {
+                if (!blank) {
+                    statements.add(statement.toString().trim());
+                }
+                statement.setLength(0);
+                blank = true;
+            } else {
+                statement.append(token.getText());
+                blank &= token.isBlank();
+            }
+        }
+        if (!blank) {
+            statements.add(statement.toString().trim());
+        }
+        return statements;
+    }
+
+    /**
+     * @return {@code true} if the statement only reads data and can be executed concurrently with other queries
+     */
+    static boolean isQuery(String sql) {
+        String keyword = SqlTokenizer.firstKeyword(sql);
+        return "SELECT".equals(keyword) || "WITH".equals(keyword) || "SHOW".equals(keyword)
+                || "EXPLAIN".equals(keyword);
+    }
+
+    private static final class PipelineTask implements Runnable {
+        private final Runnable task;
+        private final Consumer<SQLException> onClosed;
+
+        PipelineTask(Runnable task, Consumer<SQLException> onClosed) {
+            this.task = task;
+            this.onClosed = onClosed;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+}
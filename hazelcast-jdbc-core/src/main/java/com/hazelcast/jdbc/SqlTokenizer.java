@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Minimal SQL lexer used by the driver to inspect statements on the client side. It only
+ * distinguishes what the driver needs to know: literals, quoted identifiers, words,
+ * parameters, symbols, whitespace and comments. Unterminated literals or comments are
+ * reported as a single token spanning the rest of the input, the server reports the error.
+ */
+final class SqlTokenizer {
+
+    private static final String TWO_CHAR_SYMBOLS = "<=>=<>!=||";
+
+    private SqlTokenizer() {
+    }
+
+    static List<Token> tokenize(String sql) {
+        List<Token> tokens = new ArrayList<>();
+        int length = sql.length();
+        int pos = 0;
+        while (pos < length) {
+            char c = sql.charAt(pos);
+            int end;
+            TokenType type;
+            if (Character.isWhitespace(c)) {
+                end = pos + 1;
+                while (end < length && Character.isWhitespace(sql.charAt(end))) {
+                    end++;
+                }
+                type = TokenType.WHITESPACE;
+            } else if (c == '-' && sql.startsWith("--", pos)) {
+                end = sql.indexOf('\n', pos);
+                end = end < 0 ? length : end + 1;
+                type = TokenType.COMMENT;
+            } else if (c == '/' && sql.startsWith("/*", pos)) {
+                end = sql.indexOf("*/", pos + 2);
+                end = end < 0 ? length : end + 2;
+                type = TokenType.COMMENT;
+            } else if (c == '\'' || c == '"') {
+                end = quotedEnd(sql, pos, c);
+                type = c == '\'' ? TokenType.STRING : TokenType.QUOTED_IDENTIFIER;
+            } else if (Character.isDigit(c) || (c == '.' && pos + 1 < length && Character.isDigit(sql.charAt(pos + 1)))) {
+                end = numberEnd(sql, pos);
+                type = TokenType.NUMBER;
+            } else if (Character.isLetter(c) || c == '_' || c == '$') {
+                end = pos + 1;
+                while (end < length && isWordPart(sql.charAt(end))) {
+                    end++;
+                }
+                type = TokenType.WORD;
+            } else if (c == '?') {
+                end = pos + 1;
+                type = TokenType.PARAMETER;
+            } else {
+                end = pos + 1;
+                if (end < length && isTwoCharSymbol(c, sql.charAt(end))) {
+                    end++;
+                }
+                type = TokenType.SYMBOL;
+            }
+            tokens.add(new Token(type, sql.substring(pos, end)));
+            pos = end;
+        }
+        return tokens;
+    }
+
+    /**
+     * @return the first word of the statement in upper case, or {@code null} if the
+     * statement doesn't start with a word
+     */
+    static String firstKeyword(String sql) {
+        for (Token token : tokenize(sql)) {
+            if (!token.isBlank()) {
+                return token.getType() == TokenType.WORD ? token.getText().toUpperCase() : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Joins the tokens from {@code from} (inclusive) to {@code to} (exclusive), normalizing
+     * whitespace and comments to a single space.
+     *
+     * @param text the text of the token at the given index, or {@code null} to drop the token
+     */
+    static String render(List<Token> tokens, int from, int to, IntFunction<String> text) {
+        StringBuilder sb = new StringBuilder();
+        boolean pendingSpace = false;
+        for (int i = from; i < to; i++) {
+            if (tokens.get(i).isBlank()) {
+                pendingSpace = sb.length() > 0;
+                continue;
+            }
+            String tokenText = text.apply(i);
+            if (tokenText == null) {
+                continue;
+            }
+            if (pendingSpace) {
+                sb.append(' ');
+                pendingSpace = false;
+            }
+            sb.append(tokenText);
+        }
+        return sb.toString();
+    }
+
+    private static int quotedEnd(String sql, int start, char quote) {
+        int pos = start + 1;
+        while (pos < sql.length()) {
+            if (sql.charAt(pos) == quote) {
+                // doubled quote is an escaped quote
+                if (pos + 1 < sql.length() && sql.charAt(pos + 1) == quote) {
+                    pos += 2;
+                    continue;
+                }
+                return pos + 1;
+            }
+            pos++;
+        }
+        return sql.length();
+    }
+
+    private static int numberEnd(String sql, int start) {
+        int pos = start;
+        boolean seenDot = false;
+        while (pos < sql.length()) {
+            char c = sql.charAt(pos);
+            if (Character.isDigit(c)) {
+                pos++;
+            } else if (c == '.' && !seenDot) {
+                seenDot = true;
+                pos++;
+            } else if ((c == 'e' || c == 'E') && exponentFollows(sql, pos + 1)) {
+                pos++;
+                if (sql.charAt(pos) == '+' || sql.charAt(pos) == '-') {
+                    pos++;
+                }
+                while (pos < sql.length() && Character.isDigit(sql.charAt(pos))) {
+                    pos++;
+                }
+                return pos;
+            } else {
+                return pos;
+            }
+        }
+        return pos;
+    }
+
+    private static boolean exponentFollows(String sql, int pos) {
+        if (pos < sql.length() && (sql.charAt(pos) == '+' || sql.charAt(pos) == '-')) {
+            pos++;
+        }
+        return pos < sql.length() && Character.isDigit(sql.charAt(pos));
+    }
+
+    private static boolean isWordPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    private static boolean isTwoCharSymbol(char first, char second) {
+        for (int i = 0; i < TWO_CHAR_SYMBOLS.length(); i += 2) {
+            if (TWO_CHAR_SYMBOLS.charAt(i) == first && TWO_CHAR_SYMBOLS.charAt(i + 1) == second) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    enum TokenType {
+        WHITESPACE,
+        COMMENT,
+        STRING,
+        QUOTED_IDENTIFIER,
+        NUMBER,
+        WORD,
+        PARAMETER,
+        SYMBOL
+    }
+
+    static final class Token {
+        private final TokenType type;
+        private final String text;
+
+        Token(TokenType type, String text) {
+            this.type = type;
+            this.text = text;
+        }
+
+        TokenType getType() {
+            return type;
+        }
+
+        String getText() {
+            return text;
+        }
+
+        /**
+         * @return {@code true} for whitespace and comments, which don't affect the meaning of the statement
+         */
+        boolean isBlank() {
+            return type == TokenType.WHITESPACE || type == TokenType.COMMENT;
+        }
+
+        boolean isWord(String word) {
+            return type == TokenType.WORD && text.equalsIgnoreCase(word);
+        }
+
+        boolean isSymbol(String symbol) {
+            return type == TokenType.SYMBOL && text.equals(symbol);
+        }
+
+        @Override
+        public String toString() {
+            return type + "(" + text + ")";
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import java.util.Locale;
+
+/**
+ * Class of the queries of a connection or statement, used by the admission control of the
+ * connections created with the same URL and properties. Interactive queries are admitted
+ * before batch queries, and batch queries may be limited to a part of the concurrent queries.
+ */
+public enum WorkloadClass {
+
+    /** Short queries waited for by users, the default. */
+    INTERACTIVE,
+
+    /** Long analytical or reporting queries, which may wait for interactive queries. */
+    BATCH;
+
+    static WorkloadClass parse(String key, String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            String message = String.format("'%s' not 'interactive' or 'batch', '%s'", key, value);
+            throw new RuntimeException(message);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Executes updates of a connection asynchronously, in the order they were submitted. The
+ * updates are executed one at a time by a single thread, so that an update never overtakes
+ * an earlier one, the configured limit bounds the queue of pending updates rather than the
+ * executions. Further submissions block until an update completes.
+ * <p>
+ * The first failure is reported by the next call to {@link #submit}, {@link #flush()} or
+ * {@link #close()}. Updates submitted after a failed update are skipped, as they might depend
+ * on it. Before the failure is reported, all queued updates are skipped, and the exception
+ * lists them, so the caller knows exactly which updates weren't executed.
+ */
+final class WriteBehind {
+
+    private final int maxPending;
+    private final Semaphore permits;
+    private final ExecutorService worker;
+    private Throwable failure;
+    private final List<String> skipped = new ArrayList<>();
+
+    WriteBehind(int maxPending) {
+        this.maxPending = maxPending;
+        this.permits = new Semaphore(maxPending);
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hazelcast-jdbc-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues the update, blocks while the maximum number of updates are pending.
+     *
+     * @param description description of the update to report if it's skipped, such as its SQL
+     * @throws SQLException if an earlier update failed
+     */
+    void submit(String description, Runnable update) throws SQLException {
+        if (hasFailed()) {
+            flush();
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for pending updates", e);
+        }
+        worker.execute(() -> {
+            try {
+                synchronized (this) {
+                    if (failure != null) {
+                        skipped.add(description);
+                        return;
+                    }
+                }
+                update.run();
+            } catch (Throwable t) {
+                synchronized (this) {
+                    failure = t;
+                }
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    /**
+     * Waits until all submitted updates complete.
+     *
+     * @throws SQLException if an update failed
+     */
+    void flush() throws SQLException {
+        try {
+            permits.acquire(maxPending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for pending updates", e);
+        }
+        permits.release(maxPending);
+        checkFailure();
+    }
+
+    /**
+     * Waits for the submitted updates and stops the worker thread.
+     *
+     * @throws SQLException if an update failed
+     */
+    void close() throws SQLException {
+        try {
+            flush();
+        } finally {
+            worker.shutdownNow();
+        }
+    }
+
+    /**
+     * @return whether an update failed and the failure wasn't reported yet
+     */
+    synchronized boolean hasFailed() {
+        return failure != null;
+    }
+
+    private synchronized void checkFailure() throws SQLException {
+        Throwable t = failure;
+        if (t == null) {
+            return;
+        }
+        String message = "Asynchronous update failed: " + t.getMessage();
+        if (!skipped.isEmpty()) {
+            message += ". Updates submitted after it were skipped: " + String.join("; ", skipped);
+        }
+        failure = null;
+        skipped.clear();
+        throw new SQLException(message, t);
+    }
+}
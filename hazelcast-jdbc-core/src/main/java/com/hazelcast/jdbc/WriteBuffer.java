@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import com.hazelcast.jdbc.SqlTokenizer.Token;
+import com.hazelcast.jdbc.SqlTokenizer.TokenType;
+import com.hazelcast.sql.HazelcastSqlException;
+import com.hazelcast.sql.SqlStatement;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Buffers updates issued while auto-commit is disabled, until the connection commits or
+ * rolls back. On commit, consecutive {@code INSERT} and {@code SINK} statements with a
+ * {@code VALUES} clause targeting the same mapping and columns are merged into multi-row
+ * statements, so that a transaction-style loop of single-row inserts executes as a few
+ * bulk inserts. The updates are executed in the order they were issued. The rows of a
+ * merged statement aren't grouped by partition, the cluster distributes them itself.
+ * <p>
+ * The buffer isn't a transaction: any other statement executes the buffered updates
+ * first, so that it sees them, and a rollback discards only the updates issued after it.
+ */
+final class WriteBuffer {
+
+    static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private final List<SqlStatement> pending = new ArrayList<>();
+
+    synchronized void add(SqlStatement statement) {
+        pending.add(statement);
+    }
+
+    /**
+     * Drops the buffered updates.
+     */
+    synchronized void discard() {
+        pending.clear();
+    }
+
+    /**
+     * Executes the buffered updates and clears the buffer. If an update fails, it stays in
+     * the buffer with the following updates, so that they're executed by the next flush
+     * or dropped by {@link #discard}. The updates executed before it aren't undone.
+     */
+    synchronized void flush(HazelcastSqlClient client) throws SQLException {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<SqlStatement> statements = merge(pending);
+        pending.clear();
+        pending.addAll(statements);
+        while (!pending.isEmpty()) {
+            try {
+                client.execute(pending.get(0)).close();
+            } catch (HazelcastSqlException e) {
+                throw JdbcUtils.sqlException(e);
+            }
+            pending.remove(0);
+        }
+    }
+
+    /**
+     * Merges each run of consecutive inserts into the same mapping and columns.
+     */
+    static List<SqlStatement> merge(List<SqlStatement> statements) {
+        List<SqlStatement> merged = new ArrayList<>();
+        List<Object> groupKey = null;
+        InsertGroup group = null;
+        for (SqlStatement statement : statements) {
+            Insert insert = Insert.parse(statement.getSql());
+            List<Object> key = insert == null ? null : Arrays.asList(insert.prefix, statement.getSchema(),
+                    statement.getTimeoutMillis(), statement.getCursorBufferSize());
+            if (group != null && !groupKey.equals(key)) {
+                group.emit(merged);
+                group = null;
+            }
+            if (insert == null) {
+                merged.add(statement);
+                continue;
+            }
+            if (group == null) {
+                group = new InsertGroup(statement, insert.prefix);
+                groupKey = key;
+            }
+            group.add(statement, insert);
+        }
+        if (group != null) {
+            group.emit(merged);
+        }
+        return merged;
+    }
+
+    private static final class InsertGroup {
+        private final SqlStatement template;
+        private final String prefix;
+        private final List<String> rows = new ArrayList<>();
+        private final List<List<Object>> rowParameters = new ArrayList<>();
+
+        InsertGroup(SqlStatement template, String prefix) {
+            this.template = template;
+            this.prefix = prefix;
+        }
+
+        void add(SqlStatement statement, Insert insert) {
+            List<Object> parameters = statement.getParameters();
+            int offset = 0;
+            for (int i = 0; i < insert.rows.size(); i++) {
+                int count = insert.rowParameterCounts.get(i);
+                rows.add(insert.rows.get(i));
+                rowParameters.add(parameters.subList(offset, offset + count));
+                offset += count;
+            }
+        }
+
+        void emit(List<SqlStatement> target) {
+            for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+                int to = Math.min(from + MAX_ROWS_PER_STATEMENT, rows.size());
+                StringBuilder sql = new StringBuilder(prefix).append(" VALUES ");
+                List<Object> parameters = new ArrayList<>();
+                for (int i = from; i < to; i++) {
+                    if (i > from) {
+                        sql.append(", ");
+                    }
+                    sql.append(rows.get(i));
+                    parameters.addAll(rowParameters.get(i));
+                }
+                target.add(template.copy().setSql(sql.toString()).setParameters(parameters));
+            }
+        }
+    }
+
+    /**
+     * An {@code INSERT} or {@code SINK} statement split into the part preceding the
+     * {@code VALUES} keyword and the row constructors.
+     */
+    static final class Insert {
+        final String prefix;
+        final List<String> rows;
+        final List<Integer> rowParameterCounts;
+
+        private Insert(String prefix, List<String> rows, List<Integer> rowParameterCounts) {
+            this.prefix = prefix;
+            this.rows = rows;
+            this.rowParameterCounts = rowParameterCounts;
+        }
+
+        /**
+         * @return the parsed statement, or {@code null} if it isn't an insert of a
+         * {@code VALUES} list
+         */
+        static Insert parse(String sql) {
+            List<Token> tokens = SqlTokenizer.tokenize(sql);
+            String keyword = SqlTokenizer.firstKeyword(sql);
+            if (!"INSERT".equals(keyword) && !"SINK".equals(keyword)) {
+                return null;
+            }
+            int depth = 0;
+            int values = -1;
+            for (int i = 0; i < tokens.size() && values < 0; i++) {
+                Token token = tokens.get(i);
+                if (token.getType() == TokenType.PARAMETER) {
+                    // parameters outside the rows would be out of order after merging
+                    return null;
+                } else if (token.isSymbol("(")) {
+                    depth++;
+                } else if (token.isSymbol(")")) {
+                    depth--;
+                } else if (depth == 0 && token.isWord("VALUES")) {
+                    values = i;
+                }
+            }
+            if (values < 0) {
+                return null;
+            }
+
+            List<String> rows = new ArrayList<>();
+            List<Integer> rowParameterCounts = new ArrayList<>();
+            int rowParameterCount = 0;
+            int rowStart = -1;
+            boolean expectRow = true;
+            for (int i = values + 1; i < tokens.size(); i++) {
+                Token token = tokens.get(i);
+                if (token.isBlank()) {
+                    continue;
+                }
+                if (rowStart >= 0) {
+                    if (token.getType() == TokenType.PARAMETER) {
+                        rowParameterCount++;
+                    } else if (token.isSymbol("(")) {
+                        depth++;
+                    } else if (token.isSymbol(")") && --depth == 0) {
+                        rows.add(render(tokens, rowStart, i + 1));
+                        rowParameterCounts.add(rowParameterCount);
+                        rowParameterCount = 0;
+                        rowStart = -1;
+                    }
+                } else if (expectRow && token.isSymbol("(")) {
+                    rowStart = i;
+                    depth = 1;
+                    expectRow = false;
+                } else if (!expectRow && token.isSymbol(",")) {
+                    expectRow = true;
+                } else if (!expectRow && token.isSymbol(";") && isBlankFrom(tokens, i + 1)) {
+                    break;
+                } else {
+                    return null;
+                }
+            }
+            if (rowStart >= 0 || expectRow) {
+                return null;
+            }
+            return new Insert(render(tokens, 0, values), rows, rowParameterCounts);
+        }
+
+        private static boolean isBlankFrom(List<Token> tokens, int from) {
+            for (int i = from; i < tokens.size(); i++) {
+                if (!tokens.get(i).isBlank()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static String render(List<Token> tokens, int from, int to) {
+            return SqlTokenizer.render(tokens, from, to, i -> tokens.get(i).getText());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionControlTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void when_limitReached_then_waitsForRelease() throws Exception {
+        AdmissionControl admissionControl = new AdmissionControl(1, 0, 10);
+        AdmissionControl.Permit running = admissionControl.acquire(WorkloadClass.INTERACTIVE, 0);
+
+        Future<AdmissionControl.Permit> waiting = executor.submit(
+                () -> admissionControl.acquire(WorkloadClass.INTERACTIVE, 0));
+        Thread.sleep(100);
+        assertThat(waiting).isNotDone();
+
+        running.release();
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    void when_queryWaiting_then_newQueryDoesNotOvertakeIt() throws Exception {
+        AdmissionControl admissionControl = new AdmissionControl(1, 0, 10);
+        AdmissionControl.Permit running = admissionControl.acquire(WorkloadClass.INTERACTIVE, 0);
+        Future<AdmissionControl.Permit> waiting = executor.submit(
+                () -> admissionControl.acquire(WorkloadClass.INTERACTIVE, 0));
+        Thread.sleep(100);
+
+        running.release();
+        assertThatThrownBy(() -> admissionControl.acquire(WorkloadClass.INTERACTIVE, 50))
+                .isInstanceOf(SQLTimeoutException.class);
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    void when_queueFull_then_failsFast() throws Exception {
+        AdmissionControl admissionControl = new AdmissionControl(1, 0, 0);
+        admissionControl.acquire(WorkloadClass.INTERACTIVE, 0);
+
+        assertThatThrownBy(() -> admissionControl.acquire(WorkloadClass.INTERACTIVE, 0))
+                .isInstanceOf(SQLTransientException.class)
+                .hasMessage("Too many queued interactive queries, at most 0 may wait");
+    }
+
+    @Test
+    void when_notAdmittedInTime_then_timeout() throws Exception {
+        AdmissionControl admissionControl = new AdmissionControl(1, 0, 10);
+        admissionControl.acquire(WorkloadClass.BATCH, 0);
+
+        assertThatThrownBy(() -> admissionControl.acquire(WorkloadClass.BATCH, 50))
+                .isInstanceOf(SQLTimeoutException.class)
+                .hasMessage("Query not admitted within 50 ms");
+    }
+
+    @Test
+    void when_releasedTwice_then_releasedOnce() throws Exception {
+        AdmissionControl admissionControl = new AdmissionControl(1, 0, 0);
+        AdmissionControl.Permit permit = admissionControl.acquire(WorkloadClass.INTERACTIVE, 0);
+        permit.release();
+        permit.release();
+
+        admissionControl.acquire(WorkloadClass.INTERACTIVE, 0);
+        assertThatThrownBy(() -> admissionControl.acquire(WorkloadClass.INTERACTIVE, 0))
+                .isInstanceOf(SQLTransientException.class);
+    }
+
+    @Test
+    void when_batchLimitReached_then_interactiveAdmitted() throws Exception {
+        AdmissionControl admissionControl = new AdmissionControl(2, 1, 10);
+        admissionControl.acquire(WorkloadClass.BATCH, 0);
+
+        assertThatThrownBy(() -> admissionControl.acquire(WorkloadClass.BATCH, 50))
+                .isInstanceOf(SQLTimeoutException.class);
+        assertThat(admissionControl.acquire(WorkloadClass.INTERACTIVE, 50)).isNotNull();
+    }
+
+    @Test
+    void when_bothQueued_then_interactiveAdmittedFirst() throws Exception {
+        AdmissionControl admissionControl = new AdmissionControl(1, 0, 10);
+        AdmissionControl.Permit running = admissionControl.acquire(WorkloadClass.BATCH, 0);
+        List<WorkloadClass> admitted = new CopyOnWriteArrayList<>();
+
+        Future<?> batch = executor.submit(() -> {
+            admissionControl.acquire(WorkloadClass.BATCH, 0);
+            admitted.add(WorkloadClass.BATCH);
+            return null;
+        });
+        Thread.sleep(100);
+        Future<?> interactive = executor.submit(() -> {
+            AdmissionControl.Permit permit = admissionControl.acquire(WorkloadClass.INTERACTIVE, 0);
+            admitted.add(WorkloadClass.INTERACTIVE);
+            permit.release();
+            return null;
+        });
+        Thread.sleep(100);
+
+        running.release();
+        interactive.get(5, TimeUnit.SECONDS);
+        batch.get(5, TimeUnit.SECONDS);
+        assertThat(admitted).containsExactly(WorkloadClass.INTERACTIVE, WorkloadClass.BATCH);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogSnapshotTest {
+
+    @Test
+    void shouldLookUpTablesByNameAndPattern() {
+        CatalogSnapshot snapshot = snapshot();
+
+        assertThat(names(snapshot.tables(null, null, "emp", null), CatalogSnapshot.TABLE_NAME))
+                .containsExactly("emp");
+        assertThat(names(snapshot.tables("hazelcast", "%", "emp%", null), CatalogSnapshot.TABLE_NAME))
+                .containsExactly("emp", "emp_view");
+        assertThat(names(snapshot.tables(null, null, "em_", null), CatalogSnapshot.TABLE_NAME))
+                .containsExactly("emp");
+        assertThat(names(snapshot.tables(null, null, null, Collections.singleton("MAPPING")), CatalogSnapshot.TABLE_NAME))
+                .containsExactly("dept", "emp");
+        assertThat(snapshot.tables("other", null, null, null)).isEmpty();
+    }
+
+    @Test
+    void shouldOrderTablesByType() {
+        CatalogSnapshot snapshot = snapshot();
+
+        assertThat(names(snapshot.tables(null, null, null, null), CatalogSnapshot.TABLE_NAME))
+                .containsExactly("dept", "emp", "emp_view");
+    }
+
+    @Test
+    void shouldReturnColumnsInOrdinalOrder() {
+        CatalogSnapshot snapshot = snapshot();
+
+        assertThat(names(snapshot.columns(null, "public", "emp", null), CatalogSnapshot.COLUMN_NAME))
+                .containsExactly("__key", "name", "age");
+        assertThat(names(snapshot.columns(null, null, "%", "__key"), CatalogSnapshot.TABLE_NAME))
+                .containsExactly("dept", "emp", "emp_view");
+        assertThat(names(snapshot.columns(null, null, "unknown", null), CatalogSnapshot.COLUMN_NAME)).isEmpty();
+    }
+
+    @Test
+    void shouldTreatRegexCharactersLiterally() {
+        assertThat(CatalogSnapshot.toRegex("a.b%").matcher("a.bc").matches()).isTrue();
+        assertThat(CatalogSnapshot.toRegex("a.b%").matcher("axbc").matches()).isFalse();
+        assertThat(CatalogSnapshot.toRegex("a_c").matcher("abc").matches()).isTrue();
+    }
+
+    private static CatalogSnapshot snapshot() {
+        CatalogSnapshot snapshot = new CatalogSnapshot();
+        snapshot.addTable(table("emp_view", "VIEW"));
+        snapshot.addTable(table("emp", "MAPPING"));
+        snapshot.addTable(table("dept", "MAPPING"));
+        snapshot.addColumn(column("dept", "__key"));
+        snapshot.addColumn(column("emp", "__key"));
+        snapshot.addColumn(column("emp", "name"));
+        snapshot.addColumn(column("emp", "age"));
+        snapshot.addColumn(column("emp_view", "__key"));
+        snapshot.addColumn(column("unknown", "__key"));
+        return snapshot;
+    }
+
+    private static Object[] table(String name, String type) {
+        return new Object[]{"hazelcast", "public", name, type, null, null, null, null, null, null};
+    }
+
+    private static Object[] column(String table, String name) {
+        return new Object[]{"hazelcast", "public", table, name};
+    }
+
+    private static List<Object> names(Stream<Object[]> rows, int index) {
+        return rows.map(values -> values[index]).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.util.RoundRobinLB;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientConfigCacheTest {
+
+    private static final String OVERRIDE_PROPERTY = "hazelcast.jdbc.test.override";
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final ClientConfigCache cache = new ClientConfigCache(() -> {
+        loads.incrementAndGet();
+        return new ClientConfig().setClusterName("base");
+    }, 0);
+
+    @Test
+    void when_sourceUnchanged_then_loadedOnce() {
+        ClientConfig first = cache.get();
+        ClientConfig second = cache.get();
+
+        assertThat(loads).hasValue(1);
+        assertThat(first).isEqualTo(second).isNotSameAs(second);
+    }
+
+    @Test
+    void when_copyModified_then_cachedConfigUnchanged() {
+        ClientConfig first = cache.get();
+        first.setClusterName("other");
+        first.getNetworkConfig().setAddresses(Collections.singletonList("localhost:5701"));
+        first.getNetworkConfig().getSocketOptions().setBufferSize(256);
+        first.setProperty("hazelcast.client.event.thread.count", "2");
+
+        ClientConfig second = cache.get();
+
+        assertThat(second.getClusterName()).isEqualTo("base");
+        assertThat(second.getNetworkConfig().getAddresses()).isEmpty();
+        assertThat(second.getNetworkConfig().getSocketOptions().getBufferSize()).isNotEqualTo(256);
+        assertThat(second.getProperty("hazelcast.client.event.thread.count")).isNull();
+    }
+
+    @Test
+    void when_checkedRecently_then_sourcesNotChecked() {
+        ClientConfigCache throttledCache = new ClientConfigCache(() -> {
+            loads.incrementAndGet();
+            return new ClientConfig();
+        }, TimeUnit.HOURS.toMillis(1));
+        throttledCache.get();
+        System.setProperty(OVERRIDE_PROPERTY, "1");
+        try {
+            throttledCache.get();
+        } finally {
+            System.clearProperty(OVERRIDE_PROPERTY);
+        }
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void when_loadBalancerConfigured_then_loadedForEachCaller() {
+        ClientConfigCache balancedCache = new ClientConfigCache(() -> {
+            loads.incrementAndGet();
+            return new ClientConfig().setLoadBalancer(new RoundRobinLB());
+        }, TimeUnit.HOURS.toMillis(1));
+
+        ClientConfig first = balancedCache.get();
+        ClientConfig second = balancedCache.get();
+
+        assertThat(first.getLoadBalancer()).isNotSameAs(second.getLoadBalancer());
+    }
+
+    @Test
+    void when_overridePropertyChanged_then_reloaded() {
+        cache.get();
+        System.setProperty(OVERRIDE_PROPERTY, "1");
+        try {
+            cache.get();
+            cache.get();
+        } finally {
+            System.clearProperty(OVERRIDE_PROPERTY);
+        }
+
+        assertThat(loads).hasValue(2);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import com.hazelcast.core.LifecycleEvent;
+import com.hazelcast.core.LifecycleEvent.LifecycleState;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClusterReadinessTest {
+
+    @Test
+    void when_notConnected_then_timesOut() {
+        ClusterReadiness readiness = new ClusterReadiness(5_000);
+        readiness.stateChanged(new LifecycleEvent(LifecycleState.STARTED));
+
+        assertThatThrownBy(() -> readiness.await(50))
+                .isInstanceOf(SQLTimeoutException.class)
+                .hasMessage("Not connected to the cluster within 50 ms");
+    }
+
+    @Test
+    void when_connectTimeoutUsed_then_timesOut() {
+        ClusterReadiness readiness = new ClusterReadiness(50);
+
+        assertThatThrownBy(() -> readiness.await(0))
+                .isInstanceOf(SQLTimeoutException.class)
+                .hasMessage("Not connected to the cluster within 50 ms");
+    }
+
+    @Test
+    void when_connectedLater_then_waiterReleased() throws Exception {
+        ClusterReadiness readiness = new ClusterReadiness(-1);
+        CompletableFuture<Void> waiter = CompletableFuture.runAsync(() -> {
+            try {
+                readiness.await(0);
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        readiness.stateChanged(new LifecycleEvent(LifecycleState.CLIENT_CONNECTED));
+
+        waiter.get(5, TimeUnit.SECONDS);
+        assertThat(readiness.isConnected()).isTrue();
+        readiness.await(1);
+    }
+
+    @Test
+    void when_disconnected_then_notConnected() throws SQLException {
+        ClusterReadiness readiness = new ClusterReadiness(5_000);
+        readiness.stateChanged(new LifecycleEvent(LifecycleState.CLIENT_CONNECTED));
+        readiness.stateChanged(new LifecycleEvent(LifecycleState.CLIENT_DISCONNECTED));
+
+        assertThat(readiness.isConnected()).isFalse();
+        // the client reconnects, statements don't wait for it
+        readiness.await(1);
+
+        readiness.stateChanged(new LifecycleEvent(LifecycleState.CLIENT_CONNECTED));
+        assertThat(readiness.isConnected()).isTrue();
+    }
+
+    @Test
+    void when_shutDownBeforeConnecting_then_fails() {
+        ClusterReadiness readiness = new ClusterReadiness(5_000);
+        readiness.stateChanged(new LifecycleEvent(LifecycleState.SHUTTING_DOWN));
+
+        assertThatThrownBy(() -> readiness.await(0))
+                .isInstanceOf(SQLException.class)
+                .hasMessage("Couldn't connect to the cluster");
+    }
+}
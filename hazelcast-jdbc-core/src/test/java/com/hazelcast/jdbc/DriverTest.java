@@ -20,8 +20,13 @@ import org.assertj.core.api.Condition;
 import org.junit.jupiter.api.Test;
 
 import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class DriverTest {
@@ -39,10 +44,44 @@ class DriverTest {
                 .is(THROWN_IN_DRIVER_CONNECT);
     }
 
+    @Test
+    void when_embeddedInstanceNotRunning_then_ourError() {
+        assertThatThrownBy(() -> DriverManager.getConnection("jdbc:hazelcast:embedded://no-such-member"))
+                .isInstanceOf(SQLException.class)
+                .hasMessage("No Hazelcast instance named 'no-such-member' is running in this JVM")
+                .is(THROWN_IN_DRIVER_CONNECT);
+    }
+
     @Test
     void when_nonHzUrl_then_notHandledByOurDriver() {
         assertThatThrownBy(() -> DriverManager.getConnection("jdbc:fooDatabase:bar"))
                 .isInstanceOf(SQLException.class)
                 .isNot(THROWN_IN_DRIVER_CONNECT);
     }
+
+    @Test
+    void when_getPropertyInfo_then_propertiesReported() throws SQLException {
+        Properties info = new Properties();
+        info.setProperty("eventThreadCount", "3");
+        DriverPropertyInfo[] properties = DriverManager.getDriver("jdbc:hazelcast://localhost:5701/")
+                .getPropertyInfo("jdbc:hazelcast://localhost:5701/?tcpNoDelay=false", info);
+
+        Map<String, DriverPropertyInfo> byName = new HashMap<>();
+        for (DriverPropertyInfo property : properties) {
+            assertThat(property.description).isNotEmpty();
+            byName.put(property.name, property);
+        }
+        assertThat(byName).containsKeys("user", "clusterName", "discoveryToken", "sslEnabled", "trustStore",
+                "gcpProjects", "awsRegion", "azureScaleSet", "k8sNamespace", "smartRouting", "writeBehindMaxPending",
+                "responseThreadCount", "invocationTimeoutSeconds", "socketBufferSizeKb",
+                "heartbeatIntervalMillis", "sqlCursorBufferSize", "asyncStart");
+        assertThat(byName.get("tcpNoDelay").value).isEqualTo("false");
+        assertThat(byName.get("tcpNoDelay").choices).containsExactly("true", "false");
+        assertThat(byName.get("eventThreadCount").value).isEqualTo("3");
+        assertThat(byName.get("responseThreadCount").value).isNull();
+        assertThat(byName.get("smartRouting").choices).containsExactly("true", "false");
+        assertThat(byName.get("loadBalancer").choices).containsExactly("roundRobin", "random", "leastInFlight");
+        assertThat(byName.get("workloadClass").choices).containsExactly("interactive", "batch");
+        assertThat(byName.get("clusterName").choices).isNull();
+    }
 }
@@ -19,6 +19,9 @@ import com.hazelcast.client.config.ClientConfig;
 import com.hazelcast.client.config.ClientNetworkConfig;
 import com.hazelcast.client.config.ClientSqlConfig;
 import com.hazelcast.client.config.ClientSqlResubmissionMode;
+import com.hazelcast.client.properties.ClientProperty;
+import com.hazelcast.client.util.RandomLB;
+import com.hazelcast.client.util.RoundRobinLB;
 import com.hazelcast.config.AwsConfig;
 import com.hazelcast.config.GcpConfig;
 import com.hazelcast.config.SSLConfig;
@@ -290,6 +293,82 @@ class HazelcastConfigFactoryTest {
         .isThrownBy(() -> HazelcastConfigFactory.parseBoolean(urlOther, propertyName, true));
     }
 
+    @Test
+    void shouldParseTuningConfigs() {
+        ClientConfig clientConfig = configFactory.clientConfig(
+                new JdbcUrl("jdbc:hazelcast://localhost:5701/?responseThreadCount=4&responseThreadDynamic=false"
+                        + "&eventThreadCount=2&eventQueueCapacity=50000&invocationTimeoutSeconds=30"
+                        + "&maxConcurrentInvocations=1000&invocationBackoffTimeoutMillis=-1"
+                        + "&socketBufferSizeKb=256&tcpNoDelay=false&heartbeatIntervalMillis=2000"
+                        + "&heartbeatTimeoutMillis=20000&asyncStart=true", null));
+        assertThat(clientConfig.getProperty(ClientProperty.RESPONSE_THREAD_COUNT.getName())).isEqualTo("4");
+        assertThat(clientConfig.getProperty(ClientProperty.RESPONSE_THREAD_DYNAMIC.getName())).isEqualTo("false");
+        assertThat(clientConfig.getProperty(ClientProperty.EVENT_THREAD_COUNT.getName())).isEqualTo("2");
+        assertThat(clientConfig.getProperty(ClientProperty.EVENT_QUEUE_CAPACITY.getName())).isEqualTo("50000");
+        assertThat(clientConfig.getProperty(ClientProperty.INVOCATION_TIMEOUT_SECONDS.getName())).isEqualTo("30");
+        assertThat(clientConfig.getProperty(ClientProperty.MAX_CONCURRENT_INVOCATIONS.getName())).isEqualTo("1000");
+        assertThat(clientConfig.getProperty("hazelcast.client.invocation.backoff.timeout.millis")).isEqualTo("-1");
+        assertThat(clientConfig.getNetworkConfig().getSocketOptions().getBufferSize()).isEqualTo(256);
+        assertThat(clientConfig.getNetworkConfig().getSocketOptions().isTcpNoDelay()).isFalse();
+        assertThat(clientConfig.getProperty(ClientProperty.HEARTBEAT_INTERVAL.getName())).isEqualTo("2000");
+        assertThat(clientConfig.getProperty(ClientProperty.HEARTBEAT_TIMEOUT.getName())).isEqualTo("20000");
+        assertThat(clientConfig.getConnectionStrategyConfig().isAsyncStart()).isTrue();
+    }
+
+    @Test
+    void shouldApplyFastConnectProfile() {
+        ClientConfig clientConfig = configFactory.clientConfig(
+                new JdbcUrl("jdbc:hazelcast://localhost:5701/?fastConnect=true", null));
+        assertThat(clientConfig.getNetworkConfig().isSmartRouting()).isFalse();
+        assertThat(clientConfig.getMetricsConfig().isEnabled()).isFalse();
+        assertThat(clientConfig.isBackupAckToClientEnabled()).isFalse();
+        assertThat(clientConfig.getProperty(ClientProperty.IO_INPUT_THREAD_COUNT.getName())).isEqualTo("1");
+        assertThat(clientConfig.getProperty(ClientProperty.IO_OUTPUT_THREAD_COUNT.getName())).isEqualTo("1");
+
+        ClientConfig overridden = configFactory.clientConfig(
+                new JdbcUrl("jdbc:hazelcast://localhost:5701/?fastConnect=true&smartRouting=true", null));
+        assertThat(overridden.getNetworkConfig().isSmartRouting()).isTrue();
+        assertThat(overridden.getMetricsConfig().isEnabled()).isFalse();
+    }
+
+    @Test
+    void shouldRejectInvalidTuningConfigs() {
+        String baseUrl = "jdbc:hazelcast://localhost:5701/";
+        assertThatExceptionOfType(RuntimeException.class)
+                .isThrownBy(() -> configFactory.clientConfig(new JdbcUrl(baseUrl + "?eventThreadCount=many", null)))
+                .withMessage("'eventThreadCount' not a non-negative integer, 'many'");
+        assertThatExceptionOfType(RuntimeException.class)
+                .isThrownBy(() -> configFactory.clientConfig(new JdbcUrl(baseUrl + "?socketBufferSizeKb=-1", null)))
+                .withMessage("'socketBufferSizeKb' not a non-negative integer, '-1'");
+        assertThatExceptionOfType(RuntimeException.class)
+                .isThrownBy(() -> configFactory.clientConfig(new JdbcUrl(baseUrl + "?eventThreadCount=0", null)))
+                .withMessage("'eventThreadCount' must be at least 1, '0'");
+        assertThatExceptionOfType(RuntimeException.class)
+                .isThrownBy(() -> configFactory.clientConfig(new JdbcUrl(baseUrl + "?socketBufferSizeKb=0", null)))
+                .withMessage("'socketBufferSizeKb' must be at least 1, '0'");
+        assertThatExceptionOfType(RuntimeException.class)
+                .isThrownBy(() -> configFactory.clientConfig(new JdbcUrl(baseUrl + "?heartbeatIntervalMillis=0", null)))
+                .withMessage("'heartbeatIntervalMillis' must be at least 1, '0'");
+        assertThatExceptionOfType(RuntimeException.class)
+                .isThrownBy(() -> configFactory.clientConfig(new JdbcUrl(baseUrl + "?tcpNoDelay=yes", null)))
+                .withMessage("'tcpNoDelay' not boolean, 'yes'");
+    }
+
+    @Test
+    void shouldParseLoadBalancer() {
+        String baseUrl = "jdbc:hazelcast://localhost:5701/";
+        assertThat(configFactory.clientConfig(new JdbcUrl(baseUrl, null)).getLoadBalancer()).isNull();
+        assertThat(configFactory.clientConfig(new JdbcUrl(baseUrl + "?loadBalancer=roundRobin", null))
+                .getLoadBalancer()).isInstanceOf(RoundRobinLB.class);
+        assertThat(configFactory.clientConfig(new JdbcUrl(baseUrl + "?loadBalancer=random", null))
+                .getLoadBalancer()).isInstanceOf(RandomLB.class);
+        assertThat(configFactory.clientConfig(new JdbcUrl(baseUrl + "?loadBalancer=leastInFlight", null))
+                .getLoadBalancer()).isInstanceOf(LeastInFlightLoadBalancer.class);
+        assertThatExceptionOfType(RuntimeException.class)
+                .isThrownBy(() -> configFactory.clientConfig(new JdbcUrl(baseUrl + "?loadBalancer=busiest", null)))
+                .withMessage("'busiest' not a valid value for 'loadBalancer'");
+    }
+
     private ClientConfig defaultJdbcClientConfig() {
         ClientConfig config = ClientConfig.load();
         config.getConnectionStrategyConfig().getConnectionRetryConfig()
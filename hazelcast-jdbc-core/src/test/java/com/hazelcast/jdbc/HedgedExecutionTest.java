@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.sql.HazelcastSqlException;
+import com.hazelcast.sql.SqlExpectedResultType;
+import com.hazelcast.sql.SqlResult;
+import com.hazelcast.sql.SqlStatement;
+import com.hazelcast.sql.impl.SqlErrorCode;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HedgedExecutionTest {
+
+    private final HazelcastSqlClient client = mock(HazelcastSqlClient.class);
+    private final Member owner = member();
+    private final Member otherMember = member();
+    private final MemberQuery primary = mock(MemberQuery.class);
+    private final MemberQuery hedge = mock(MemberQuery.class);
+    private final SqlResult slowResult = mock(SqlResult.class);
+    private final SqlResult fastResult = mock(SqlResult.class);
+
+    HedgedExecutionTest() {
+        when(client.getQueryMembers()).thenAnswer(invocation -> new ArrayList<>(asList(owner, otherMember)));
+        when(client.getPartitionOwner(any())).thenReturn(owner);
+        when(client.newMemberQuery(eq(owner), any())).thenReturn(primary);
+        when(client.newMemberQuery(eq(otherMember), any())).thenReturn(hedge);
+    }
+
+    @Test
+    void shouldHedgeOnlyQueries() {
+        assertThat(HedgedExecution.isHedgeable(new SqlStatement("SELECT * FROM person"))).isTrue();
+        assertThat(HedgedExecution.isHedgeable(new SqlStatement("WITH t AS (SELECT 1) SELECT * FROM t"))).isTrue();
+        assertThat(HedgedExecution.isHedgeable(new SqlStatement("DELETE FROM person"))).isFalse();
+        assertThat(HedgedExecution.isHedgeable(new SqlStatement("SELECT * FROM person")
+                .setExpectedResultType(SqlExpectedResultType.UPDATE_COUNT))).isFalse();
+    }
+
+    @Test
+    void when_firstPageInTime_then_notHedged() throws Exception {
+        when(primary.start()).thenReturn(completedFuture(fastResult));
+
+        SqlResult result = new HedgedExecution(1000, 100).execute(client, statement());
+
+        assertThat(result).isSameAs(fastResult);
+        verify(client, times(1)).newMemberQuery(any(), any());
+    }
+
+    @Test
+    void when_firstPageLate_then_hedgeSentToOtherMember() throws Exception {
+        when(client.getPartitionOwner(any())).thenReturn(null);
+        when(primary.start()).thenReturn(new CompletableFuture<>());
+        when(hedge.start()).thenReturn(completedFuture(fastResult));
+        AtomicInteger queries = new AtomicInteger();
+        when(client.newMemberQuery(any(), any())).thenAnswer(invocation -> queries.getAndIncrement() == 0 ? primary : hedge);
+
+        new HedgedExecution(10, 100).execute(client, statement());
+
+        ArgumentCaptor<Member> members = ArgumentCaptor.forClass(Member.class);
+        verify(client, times(2)).newMemberQuery(members.capture(), any());
+        assertThat(members.getAllValues().get(1)).isNotSameAs(members.getAllValues().get(0));
+    }
+
+    @Test
+    void when_hedgeWins_then_primaryCancelledAndClosed() throws Exception {
+        CompletableFuture<SqlResult> primaryResult = new CompletableFuture<>();
+        when(primary.start()).thenReturn(primaryResult);
+        when(hedge.start()).thenReturn(completedFuture(fastResult));
+
+        SqlResult result = new HedgedExecution(10, 100).execute(client, statement());
+
+        assertThat(result).isSameAs(fastResult);
+        verify(primary).cancel();
+        // a first page arriving despite the cancellation is closed
+        primaryResult.complete(slowResult);
+        verify(slowResult).close();
+    }
+
+    @Test
+    void when_primaryWins_then_hedgeCancelled() throws Exception {
+        CompletableFuture<SqlResult> primaryResult = new CompletableFuture<>();
+        when(primary.start()).thenReturn(primaryResult);
+        when(hedge.start()).thenReturn(new CompletableFuture<>());
+
+        CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS).execute(() -> primaryResult.complete(slowResult));
+        SqlResult result = new HedgedExecution(10, 100).execute(client, statement());
+
+        assertThat(result).isSameAs(slowResult);
+        verify(hedge).cancel();
+        verify(primary, never()).cancel();
+    }
+
+    @Test
+    void when_budgetSpent_then_notHedged() throws Exception {
+        when(primary.start()).thenAnswer(invocation -> CompletableFuture.supplyAsync(() -> slowResult,
+                CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS)));
+        when(hedge.start()).thenReturn(new CompletableFuture<>());
+        HedgedExecution hedgedExecution = new HedgedExecution(10, 1);
+
+        hedgedExecution.execute(client, statement());
+        verify(hedge, times(1)).start();
+
+        hedgedExecution.execute(client, statement());
+        verify(hedge, times(1)).start();
+    }
+
+    @Test
+    void when_noOtherMember_then_notHedged() throws Exception {
+        when(client.getQueryMembers()).thenAnswer(invocation -> new ArrayList<>(singletonList(owner)));
+        when(primary.start()).thenAnswer(invocation -> CompletableFuture.supplyAsync(() -> slowResult,
+                CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS)));
+
+        SqlResult result = new HedgedExecution(10, 100).execute(client, statement());
+
+        assertThat(result).isSameAs(slowResult);
+        verify(client, times(1)).newMemberQuery(any(), any());
+    }
+
+    @Test
+    void when_memberQueryUnavailable_then_executedByClient() throws Exception {
+        when(client.newMemberQuery(any(), any())).thenReturn(null);
+        when(client.execute(any())).thenReturn(fastResult);
+
+        SqlResult result = new HedgedExecution(10, 100).execute(client, statement());
+
+        assertThat(result).isSameAs(fastResult);
+    }
+
+    @Test
+    void when_bothFail_then_errorOfPrimaryReported() {
+        HazelcastSqlException primaryError = new HazelcastSqlException(null, SqlErrorCode.GENERIC, "primary",
+                null, null);
+        when(primary.start()).thenAnswer(invocation -> CompletableFuture.supplyAsync(() -> {
+            throw primaryError;
+        }, CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS)));
+        when(hedge.start()).thenReturn(CompletableFuture.failedFuture(
+                new HazelcastSqlException(null, SqlErrorCode.GENERIC, "hedge", null, null)));
+
+        assertThatThrownBy(() -> new HedgedExecution(10, 100).execute(client, statement()))
+                .isSameAs(primaryError);
+    }
+
+    private static Member member() {
+        Member member = mock(Member.class);
+        when(member.getUuid()).thenReturn(UUID.randomUUID());
+        return member;
+    }
+
+    private static SqlStatement statement() {
+        SqlStatement statement = new SqlStatement("SELECT name FROM person WHERE id = ?")
+                .setParameters(singletonList(1));
+        statement.setPartitionArgumentIndex(0);
+        return statement;
+    }
+}
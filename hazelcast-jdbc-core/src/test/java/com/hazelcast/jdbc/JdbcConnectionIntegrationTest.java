@@ -26,11 +26,17 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
 import java.sql.Statement;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.jdbc.JdbcTestSupport.createMapping;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -86,6 +92,58 @@ class JdbcConnectionIntegrationTest {
         assertThat(statement.isClosed()).isTrue();
     }
 
+    @Test
+    void when_networkTimeoutExpires_then_sqlTimeoutException() throws SQLException {
+        createMapping(member, "slow_person", int.class, SlowPerson.class);
+        member.getMap("slow_person").put(1, new SlowPerson());
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            Connection connection = new JdbcConnection(client);
+            connection.setNetworkTimeout(executor, 200);
+            Statement statement = connection.createStatement();
+
+            assertThatThrownBy(() -> statement.executeQuery("SELECT name FROM slow_person"))
+                    .isInstanceOf(SQLTimeoutException.class)
+                    .hasMessage("Network timeout of 200 ms expired");
+            // the connection is closed on the executor
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!connection.isClosed() && System.nanoTime() < deadline) {
+                Thread.yield();
+            }
+            assertThat(connection.isClosed()).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void when_loadBalancerConfigured_then_rowsReadFromPickedCoordinator() throws SQLException {
+        Config config = new Config();
+        config.getJetConfig().setEnabled(true);
+        Hazelcast.newHazelcastInstance(config);
+        createMapping(member, "person", int.class, Person.class);
+        for (int i = 0; i < 10; i++) {
+            member.getMap("person").put(i, new Person("Person " + i, i));
+        }
+        HazelcastSqlClient balancedClient = new HazelcastSqlClient(
+                new JdbcUrl("jdbc:hazelcast://localhost:5701/?loadBalancer=leastInFlight", null));
+
+        try (Connection connection = new JdbcConnection(balancedClient)) {
+            for (int query = 0; query < 4; query++) {
+                Statement statement = connection.createStatement();
+                // pages after the first are fetched from the coordinator picked by the balancer
+                statement.setFetchSize(3);
+                int sum = 0;
+                try (ResultSet resultSet = statement.executeQuery("SELECT age FROM person")) {
+                    while (resultSet.next()) {
+                        sum += resultSet.getInt(1);
+                    }
+                }
+                assertThat(sum).isEqualTo(45);
+            }
+        }
+    }
+
     @Test
     void when_schemaChangedOnConnection_then_shouldNotAffectExistingStatements() throws SQLException {
         // test for https://github.com/hazelcast/hazelcast-jdbc/issues/58
@@ -105,4 +163,24 @@ class JdbcConnectionIntegrationTest {
             Assertions.assertEquals("table_catalog", resultSet.getMetaData().getColumnName(1));
         }
     }
+
+    /**
+     * Value which takes long to deserialize, so that a query reading it stalls.
+     */
+    public static class SlowPerson extends Person {
+        private static final long serialVersionUID = 1L;
+
+        public SlowPerson() {
+            super("Joe", 40);
+        }
+
+        private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
 }
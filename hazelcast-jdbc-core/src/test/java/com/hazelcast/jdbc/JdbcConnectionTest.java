@@ -15,25 +15,48 @@
  */
 package com.hazelcast.jdbc;
 
+import com.hazelcast.sql.HazelcastSqlException;
+import com.hazelcast.sql.SqlResult;
+import com.hazelcast.sql.SqlStatement;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.SqlErrorCode;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLClientInfoException;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class JdbcConnectionTest {
@@ -153,6 +176,223 @@ class JdbcConnectionTest {
                 .hasMessage("Unsupported ResultSet concurrency: " + resultSetConcurrency);
     }
 
+    @Test
+    void shouldBufferUpdatesUntilCommit() throws SQLException {
+        when(client.getWriteBuffer()).thenReturn(new WriteBuffer());
+        when(client.execute(any())).thenReturn(mock(SqlResult.class));
+        ArgumentCaptor<SqlStatement> statementArgumentCaptor = ArgumentCaptor.forClass(SqlStatement.class);
+        connection.setAutoCommit(false);
+
+        PreparedStatement insert = connection.prepareStatement("INSERT INTO person VALUES (?, ?)");
+        insert.setInt(1, 1);
+        insert.setString(2, "Joe");
+        assertThat(insert.executeUpdate()).isZero();
+        insert.setInt(1, 2);
+        insert.setString(2, "Ann");
+        insert.executeUpdate();
+        verify(client, times(0)).execute(any());
+
+        connection.commit();
+        verify(client).execute(statementArgumentCaptor.capture());
+        assertThat(statementArgumentCaptor.getValue().getSql())
+                .isEqualTo("INSERT INTO person VALUES (?, ?), (?, ?)");
+        assertThat(statementArgumentCaptor.getValue().getParameters())
+                .isEqualTo(Arrays.asList(1, "Joe", 2, "Ann"));
+    }
+
+    @Test
+    void shouldDiscardBufferedUpdatesOnRollback() throws SQLException {
+        when(client.getWriteBuffer()).thenReturn(new WriteBuffer());
+        connection.setAutoCommit(false);
+
+        connection.createStatement().executeUpdate("DELETE FROM person");
+        connection.rollback();
+        connection.commit();
+
+        verify(client, times(0)).execute(any());
+    }
+
+    @Test
+    void when_queryBetweenUpdates_then_rollbackDiscardsOnlyUpdatesAfterIt() throws SQLException {
+        when(client.getWriteBuffer()).thenReturn(new WriteBuffer());
+        SqlResult rows = mock(SqlResult.class);
+        when(rows.isRowSet()).thenReturn(true);
+        when(client.execute(any())).thenReturn(mock(SqlResult.class), rows);
+        ArgumentCaptor<SqlStatement> statementArgumentCaptor = ArgumentCaptor.forClass(SqlStatement.class);
+        connection.setAutoCommit(false);
+
+        java.sql.Statement statement = connection.createStatement();
+        statement.executeUpdate("DELETE FROM person WHERE __key = 1");
+        statement.executeQuery("SELECT * FROM person");
+        statement.executeUpdate("DELETE FROM person WHERE __key = 2");
+        connection.rollback();
+        connection.commit();
+
+        verify(client, times(2)).execute(statementArgumentCaptor.capture());
+        assertThat(statementArgumentCaptor.getAllValues().stream().map(SqlStatement::getSql).collect(Collectors.toList()))
+                .isEqualTo(Arrays.asList("DELETE FROM person WHERE __key = 1", "SELECT * FROM person"));
+    }
+
+    @Test
+    void shouldExecuteQueriesConcurrently() throws Exception {
+        when(client.getPipeline()).thenReturn(SqlScript.newPipeline());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(client.execute(any())).thenAnswer(invocation -> {
+            SqlStatement statement = invocation.getArgument(0);
+            if (statement.getSql().contains("missing")) {
+                throw new HazelcastSqlException(UUID.randomUUID(), SqlErrorCode.OBJECT_NOT_FOUND,
+                        "Object 'missing' not found", QueryException.error(""), null);
+            }
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            running.decrementAndGet();
+            SqlResult result = mock(SqlResult.class);
+            when(result.isRowSet()).thenReturn(true);
+            return result;
+        });
+
+        List<CompletableFuture<ResultSet>> results = connection.executeQueries(
+                Arrays.asList("SELECT * FROM person WHERE age > ?", "SELECT * FROM missing", "SELECT * FROM pet",
+                        "SELECT * FROM person"),
+                Arrays.asList(Collections.singletonList(20), Collections.emptyList(), Collections.emptyList(),
+                        Collections.emptyList()),
+                2);
+
+        assertThat(results.get(0).get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThatThrownBy(() -> results.get(1).get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(SQLException.class)
+                .hasMessageContaining("Object 'missing' not found");
+        assertThat(results.get(2).get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(results.get(3).get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(maxRunning.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldExecuteQueriesWithParallelismAboveAdmissionLimit() throws Exception {
+        when(client.getPipeline()).thenReturn(SqlScript.newPipeline());
+        when(client.getAdmissionControl()).thenReturn(new AdmissionControl(1, 0, 10));
+        when(client.execute(any())).thenAnswer(invocation -> {
+            SqlResult result = mock(SqlResult.class);
+            when(result.isRowSet()).thenReturn(true);
+            return result;
+        });
+
+        List<CompletableFuture<ResultSet>> results = connection.executeQueries(
+                Arrays.asList("SELECT * FROM person", "SELECT * FROM pet", "SELECT * FROM car"),
+                Arrays.asList(Collections.emptyList(), Collections.emptyList(), Collections.emptyList()),
+                3);
+
+        for (CompletableFuture<ResultSet> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isNotNull();
+        }
+    }
+
+    @Test
+    void when_pipelineShutDown_then_queriesFail() throws SQLException {
+        ExecutorService pipeline = SqlScript.newPipeline();
+        SqlScript.shutdown(pipeline);
+        when(client.getPipeline()).thenReturn(pipeline);
+
+        List<CompletableFuture<ResultSet>> results = connection.executeQueries(
+                Arrays.asList("SELECT * FROM person", "SELECT * FROM pet"), null, 1);
+
+        for (CompletableFuture<ResultSet> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(SQLException.class)
+                    .hasMessageContaining("Connection is closed");
+        }
+    }
+
+    @Test
+    void shouldReportValidityOfClient() throws SQLException {
+        when(client.isAlive(5)).thenReturn(true, false);
+
+        assertThat(connection.isValid(5)).isTrue();
+        assertThat(connection.isValid(5)).isFalse();
+
+        connection.close();
+        assertThat(connection.isValid(5)).isFalse();
+        verify(client, times(2)).isAlive(5);
+    }
+
+    @Test
+    void shouldSetNetworkTimeoutAndCloseOnExpiry() throws SQLException {
+        Executor executor = Runnable::run;
+        connection.setNetworkTimeout(executor, 1000);
+
+        ArgumentCaptor<Runnable> onExpiry = ArgumentCaptor.forClass(Runnable.class);
+        verify(client).setNetworkTimeout(eq(executor), eq(1000), onExpiry.capture());
+        when(client.getNetworkTimeoutMillis()).thenReturn(1000);
+        assertThat(connection.getNetworkTimeout()).isEqualTo(1000);
+
+        onExpiry.getValue().run();
+        assertThat(connection.isClosed()).isTrue();
+        verify(client).shutdown();
+    }
+
+    @Test
+    void when_asynchronousUpdateFailed_then_closeShutsDownClient() throws Exception {
+        WriteBehind writeBehind = new WriteBehind(1);
+        when(client.getWriteBehind()).thenReturn(writeBehind);
+        writeBehind.submit("DELETE FROM person", () -> {
+            throw new RuntimeException("failed");
+        });
+
+        connection.close();
+
+        assertThat(connection.isClosed()).isTrue();
+        verify(client).shutdown();
+    }
+
+    @Test
+    void shouldRejectInvalidNetworkTimeout() {
+        assertThatThrownBy(() -> connection.setNetworkTimeout(null, 1000))
+                .isInstanceOf(SQLException.class)
+                .hasMessage("Executor cannot be null");
+        assertThatThrownBy(() -> connection.setNetworkTimeout(Runnable::run, -1))
+                .isInstanceOf(SQLException.class)
+                .hasMessage("Network timeout cannot be less than 0");
+    }
+
+    @Test
+    void shouldRejectInvalidParallelism() {
+        assertThatThrownBy(() -> connection.executeQueries(Collections.singletonList("SELECT 1"), null, 0))
+                .isInstanceOf(SQLException.class)
+                .hasMessage("Invalid parallelism: 0");
+    }
+
+    @Test
+    void shouldSplitQueryIntoRanges() throws SQLException {
+        when(client.execute(any())).thenReturn(mock(SqlResult.class));
+
+        List<PreparedStatement> splits = connection.prepareSplits("SELECT * FROM person", "age", 0, 100, 4);
+        for (PreparedStatement split : splits) {
+            split.execute();
+        }
+
+        ArgumentCaptor<SqlStatement> captor = ArgumentCaptor.forClass(SqlStatement.class);
+        verify(client, times(4)).execute(captor.capture());
+        assertThat(captor.getAllValues().stream().map(SqlStatement::getSql).collect(Collectors.toList()))
+                .isEqualTo(Arrays.asList(
+                        "SELECT * FROM (SELECT * FROM person) AS t WHERE age < 25 OR age IS NULL",
+                        "SELECT * FROM (SELECT * FROM person) AS t WHERE age >= 25 AND age < 50",
+                        "SELECT * FROM (SELECT * FROM person) AS t WHERE age >= 50 AND age < 75",
+                        "SELECT * FROM (SELECT * FROM person) AS t WHERE age >= 75"));
+    }
+
+    @Test
+    void shouldLimitSplitsToRange() throws SQLException {
+        assertThat(connection.prepareSplits("SELECT * FROM person", "age", 0, 2, 10).size()).isEqualTo(2);
+        assertThat(connection.prepareSplits("SELECT * FROM person", "age", 5, 5, 10).size()).isEqualTo(1);
+        assertThatThrownBy(() -> connection.prepareSplits("SELECT * FROM person", "age", 1, 0, 2))
+                .isInstanceOf(SQLException.class)
+                .hasMessage("Lower bound 1 is greater than upper bound 0");
+        assertThatThrownBy(() -> connection.prepareSplits("SELECT * FROM person", "age", 0, 1, 0))
+                .isInstanceOf(SQLException.class)
+                .hasMessage("Invalid number of splits: 0");
+    }
+
     @ParameterizedTest(name = "With ResultSet holdability {0}")
     @MethodSource("statementIntValues")
     void shouldValidateResultSetHoldabilityForStatement(int resultSetHoldability) {
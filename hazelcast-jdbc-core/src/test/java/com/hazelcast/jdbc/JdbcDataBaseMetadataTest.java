@@ -18,6 +18,8 @@ package com.hazelcast.jdbc;
 
 import com.hazelcast.client.HazelcastClient;
 import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
@@ -55,6 +57,9 @@ class JdbcDataBaseMetadataTest {
     public static void setUp() throws SQLException {
         Config config = new Config();
         config.getJetConfig().setEnabled(true);
+        config.getMapConfig("emp")
+                .addIndexConfig(new IndexConfig(IndexType.SORTED, "age"))
+                .addIndexConfig(new IndexConfig(IndexType.HASH, "name").setName("emp_name_idx"));
         HazelcastInstance member = Hazelcast.newHazelcastInstance(config);
         IMap<Integer, Person> empMap = member.getMap("emp");
         IMap<Integer, String> deptMap = member.getMap("dept");
@@ -247,8 +252,16 @@ class JdbcDataBaseMetadataTest {
 
     @Test
     void test_getPrimaryKeys() throws SQLException {
-        assertEmptyResultSet(6,
+        assertsResultsExactly(
+                asList(asList("hazelcast", "public", "dept", "__key", (short) 1, null),
+                        asList("hazelcast", "public", "emp", "__key", (short) 1, null)),
                 dbMetaData.getPrimaryKeys(null, null, null));
+        assertsResultsExactly(
+                singletonList(asList("hazelcast", "public", "emp", "__key", (short) 1, null)),
+                dbMetaData.getPrimaryKeys("hazelcast", "public", "emp"));
+        // views have no key
+        assertEmptyResultSet(6,
+                dbMetaData.getPrimaryKeys(null, null, "emp_dept_view"));
     }
 
     @Test
@@ -301,8 +314,20 @@ class JdbcDataBaseMetadataTest {
 
     @Test
     void test_getIndexInfo() throws SQLException {
+        List<Object> keyIndex = asList("hazelcast", "public", "emp", false, null, "__key",
+                DatabaseMetaData.tableIndexHashed, (short) 1, "__key", null, 0L, 0L, null);
+        assertsResultsExactly(
+                asList(keyIndex,
+                        asList("hazelcast", "public", "emp", true, null, "emp_name_idx",
+                                DatabaseMetaData.tableIndexHashed, (short) 1, "name", null, 0L, 0L, null),
+                        asList("hazelcast", "public", "emp", true, null, "emp_sorted_age",
+                                DatabaseMetaData.tableIndexOther, (short) 1, "age", "A", 0L, 0L, null)),
+                dbMetaData.getIndexInfo(null, "public", "emp", false, false));
+        assertsResultsExactly(
+                singletonList(keyIndex),
+                dbMetaData.getIndexInfo(null, "public", "emp", true, false));
         assertEmptyResultSet(13,
-                dbMetaData.getIndexInfo(null, null, null, false, false));
+                dbMetaData.getIndexInfo(null, null, "emp_dept_view", false, false));
     }
 
     @Test
@@ -359,7 +384,29 @@ class JdbcDataBaseMetadataTest {
                 dbMetaData.getSchemas());
     }
 
+    @Test
+    void test_catalogSnapshot_matchesQueries() throws SQLException {
+        try (Connection snapshotConnection = DriverManager.getConnection(JDBC_HAZELCAST_LOCALHOST + "?catalogSnapshot=true")) {
+            DatabaseMetaData snapshotMetaData = snapshotConnection.getMetaData();
+
+            assertsResultsExactly(rows(dbMetaData.getTables(null, null, null, null)),
+                    snapshotMetaData.getTables(null, null, null, null));
+            assertsResultsExactly(rows(dbMetaData.getTables("hazelcast", "public", "emp%", new String[]{"VIEW"})),
+                    snapshotMetaData.getTables("hazelcast", "public", "emp%", new String[]{"VIEW"}));
+            assertsResultsExactly(rows(dbMetaData.getColumns(null, null, null, null)),
+                    snapshotMetaData.getColumns(null, null, null, null));
+            assertsResultsExactly(rows(dbMetaData.getColumns(null, "public", "emp", null)),
+                    snapshotMetaData.getColumns(null, "public", "emp", null));
+            assertsResultsExactly(rows(dbMetaData.getColumns(null, "p_blic", "%", "_ge")),
+                    snapshotMetaData.getColumns(null, "p_blic", "%", "_ge"));
+        }
+    }
+
     private void assertsResultsExactly(List<List<Object>> expectedRows, ResultSet resultSet) throws SQLException {
+        assertThat(rows(resultSet)).containsExactlyElementsOf(expectedRows);
+    }
+
+    private List<List<Object>> rows(ResultSet resultSet) throws SQLException {
         int columnCount = resultSet.getMetaData().getColumnCount();
         List<List<Object>> actualRows = new ArrayList<>();
         while (resultSet.next()) {
@@ -369,7 +416,7 @@ class JdbcDataBaseMetadataTest {
             }
             actualRows.add(row);
         }
-        assertThat(actualRows).containsExactlyElementsOf(expectedRows);
+        return actualRows;
     }
 
     private void assertEmptyResultSet(int expectedNumColumns, ResultSet resultSet) throws SQLException {
@@ -30,6 +30,7 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
 import static com.hazelcast.jdbc.JdbcTestSupport.createMapping;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class JdbcPreparedStatementTest {
@@ -83,4 +84,18 @@ public class JdbcPreparedStatementTest {
                 .isInstanceOf(SQLException.class)
                 .hasMessage("Parameter index should be greater than zero");
     }
+
+    @Test
+    void shouldReportRoutingOfKeyLookup() throws SQLException {
+        Connection connection = DriverManager.getConnection(JDBC_HAZELCAST_LOCALHOST);
+        JdbcPreparedStatement statement = connection.prepareStatement("SELECT * FROM person WHERE __key = ?")
+                .unwrap(JdbcPreparedStatement.class);
+        statement.setInt(1, 1);
+        statement.executeQuery().close();
+
+        assertThat(statement.getPartitionArgumentIndex()).isEqualTo(0);
+        assertThat(statement.getRoutingPartitionId()).isNotNegative();
+        assertThat(statement.getRoutingMember()).isEqualTo(Hazelcast.getAllHazelcastInstances().iterator().next()
+                .getCluster().getLocalMember());
+    }
 }
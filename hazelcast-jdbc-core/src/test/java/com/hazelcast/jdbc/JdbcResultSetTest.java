@@ -20,6 +20,7 @@ import com.hazelcast.sql.SqlColumnType;
 import com.hazelcast.sql.SqlResult;
 import com.hazelcast.sql.SqlRow;
 import com.hazelcast.sql.SqlRowMetadata;
+import com.hazelcast.sql.impl.ResultIterator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,8 +29,17 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -37,6 +47,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -237,4 +249,119 @@ class JdbcResultSetTest {
         assertFalse(r.isFirst());
         assertTrue(r.isAfterLast());
     }
+
+    @Test
+    void shouldTimeOutWaitingForStreamedRow() throws SQLException {
+        StreamIterator rows = new StreamIterator();
+        when(sqlResult.iterator()).thenReturn(rows);
+        JdbcResultSet stream = new JdbcResultSet(sqlResult, statement);
+
+        assertThat(stream.tryNext()).isFalse();
+        assertThat(stream.next(10, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(stream.isAfterLast()).isFalse();
+
+        rows.add(sqlRow);
+        assertThat(stream.tryNext()).isTrue();
+        rows.finish();
+        assertThat(stream.next(1, TimeUnit.SECONDS)).isFalse();
+        assertThat(stream.isAfterLast()).isTrue();
+    }
+
+    @Test
+    void shouldFailWhenRowExceedsNetworkTimeout() throws SQLException {
+        HazelcastSqlClient client = mock(HazelcastSqlClient.class);
+        when(client.getNetworkTimeoutMillis()).thenReturn(20);
+        when(statement.getClient()).thenReturn(client);
+        StreamIterator rows = new StreamIterator();
+        when(sqlResult.iterator()).thenReturn(rows);
+        JdbcResultSet stream = new JdbcResultSet(sqlResult, statement);
+
+        rows.add(sqlRow);
+        assertThat(stream.next()).isTrue();
+        assertThatThrownBy(stream::next)
+                .isInstanceOf(SQLTimeoutException.class)
+                .hasMessage("Network timeout of 20 ms expired");
+        verify(client).networkTimeoutExpired();
+    }
+
+    @Test
+    void shouldDeliverRowsToListener() throws Exception {
+        when(sqlResult.getRowMetadata()).thenReturn(new SqlRowMetadata(Collections.singletonList(
+                new SqlColumnMetadata("name", SqlColumnType.VARCHAR, false))));
+        when(sqlRow.getObject(0)).thenReturn("Joe");
+        StreamIterator rows = new StreamIterator();
+        when(sqlResult.iterator()).thenReturn(rows);
+        JdbcResultSet stream = new JdbcResultSet(sqlResult, statement);
+        List<Object> received = new CopyOnWriteArrayList<>();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CompletableFuture<Void> subscription = stream.subscribe(
+                    resultSet -> received.add(resultSet.getObject(1)), executor);
+            rows.add(sqlRow);
+            // the listener is polled again when no rows are available
+            Thread.sleep(5 * RowSubscription.POLL_INTERVAL_MILLIS);
+            rows.add(sqlRow);
+            rows.finish();
+
+            subscription.get(5, TimeUnit.SECONDS);
+            assertThat(received).containsExactly("Joe", "Joe");
+            assertThat(stream.isClosed()).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void when_executorRejectsDelivery_then_subscriptionFails() throws Exception {
+        when(sqlResult.iterator()).thenReturn(new StreamIterator());
+        JdbcResultSet stream = new JdbcResultSet(sqlResult, statement);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+
+        CompletableFuture<Void> subscription = stream.subscribe(resultSet -> { }, executor);
+
+        assertThatThrownBy(() -> subscription.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(SQLException.class);
+        assertThat(stream.isClosed()).isTrue();
+    }
+
+    /**
+     * Iterator of a streaming result, rows are added by the test.
+     */
+    private static class StreamIterator implements ResultIterator<SqlRow> {
+        private static final SqlRow DONE = mock(SqlRow.class);
+
+        private final BlockingDeque<SqlRow> rows = new LinkedBlockingDeque<>();
+
+        void add(SqlRow row) {
+            rows.add(row);
+        }
+
+        void finish() {
+            rows.add(DONE);
+        }
+
+        @Override
+        public HasNextResult hasNext(long timeout, TimeUnit timeUnit) {
+            try {
+                SqlRow row = rows.pollFirst(timeout, timeUnit);
+                if (row == null) {
+                    return HasNextResult.TIMEOUT;
+                }
+                rows.addFirst(row);
+                return row == DONE ? HasNextResult.DONE : HasNextResult.YES;
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext(Long.MAX_VALUE, TimeUnit.DAYS) == HasNextResult.YES;
+        }
+
+        @Override
+        public SqlRow next() {
+            return rows.poll();
+        }
+    }
 }
@@ -21,7 +21,9 @@ import com.hazelcast.sql.SqlResult;
 import com.hazelcast.sql.SqlRow;
 import com.hazelcast.sql.SqlRowMetadata;
 import com.hazelcast.sql.SqlStatement;
+import com.hazelcast.sql.impl.AbstractSqlResult;
 import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.SqlErrorCode;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -31,17 +33,25 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
 import java.sql.Statement;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -133,6 +143,249 @@ class JdbcStatementTest {
         assertThat(executedStatement.getCursorBufferSize()).isEqualTo(3);
     }
 
+    @Test
+    void shouldWaitForClusterWithQueryTimeout() throws SQLException {
+        doThrow(new SQLTimeoutException("Not connected to the cluster within 5000 ms")).when(client).awaitReady(5_000L);
+
+        Statement statement = new JdbcStatement(client, connection);
+        statement.setQueryTimeout(5);
+
+        assertThatThrownBy(() -> statement.execute("SELECT * FROM person"))
+                .isInstanceOf(SQLTimeoutException.class)
+                .hasMessage("Not connected to the cluster within 5000 ms");
+        verify(client, never()).execute(any());
+    }
+
+    @Test
+    void shouldReportTimeoutAsSqlTimeoutException() throws SQLException {
+        when(client.execute(any())).thenThrow(new HazelcastSqlException(UuidUtil.newUnsecureUUID(),
+                SqlErrorCode.TIMEOUT, "Network timeout of 200 ms expired", QueryException.error(""), null));
+
+        Statement statement = new JdbcStatement(client, connection);
+
+        assertThatThrownBy(() -> statement.execute("SELECT * FROM person"))
+                .isInstanceOf(SQLTimeoutException.class)
+                .hasMessage("Network timeout of 200 ms expired");
+    }
+
+    @Test
+    void shouldReleaseAdmissionWhenFirstPageArrives() throws SQLException {
+        when(client.getAdmissionControl()).thenReturn(new AdmissionControl(1, 0, 0));
+        when(client.execute(any())).thenReturn(queryResult());
+
+        JdbcStatement first = new JdbcStatement(client, connection);
+        first.setWorkloadClass(WorkloadClass.BATCH);
+        ResultSet resultSet = first.executeQuery("SELECT * FROM person");
+        JdbcStatement second = new JdbcStatement(client, connection);
+        second.setWorkloadClass(WorkloadClass.INTERACTIVE);
+
+        assertThat(second.executeQuery("SELECT * FROM person")).isNotNull();
+        assertThat(resultSet.isClosed()).isFalse();
+    }
+
+    @Test
+    void shouldExecuteScriptWithMoreQueriesThanAdmitted() throws SQLException {
+        when(client.getPipeline()).thenReturn(SqlScript.newPipeline());
+        when(client.getAdmissionControl()).thenReturn(new AdmissionControl(1, 0, 10));
+        when(client.execute(any())).thenAnswer(invocation -> queryResult());
+        JdbcStatement statement = new JdbcStatement(client, connection);
+        statement.setWorkloadClass(WorkloadClass.INTERACTIVE);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertThat(statement.execute("SELECT * FROM person; SELECT * FROM pet; SELECT * FROM car")).isTrue();
+            assertThat(statement.getMoreResults(Statement.KEEP_CURRENT_RESULT)).isTrue();
+            assertThat(statement.getMoreResults(Statement.KEEP_CURRENT_RESULT)).isTrue();
+        });
+    }
+
+    @Test
+    void shouldParameterizeLiteralsWhenEnabled() throws SQLException {
+        ArgumentCaptor<SqlStatement> statementArgumentCaptor = ArgumentCaptor.forClass(SqlStatement.class);
+        when(client.isAutoParameterize()).thenReturn(true);
+        when(client.execute(any())).thenReturn(queryResult());
+
+        Statement statement = new JdbcStatement(client, connection);
+        statement.executeQuery("SELECT *  FROM person WHERE age = 42");
+
+        verify(client).execute(statementArgumentCaptor.capture());
+        SqlStatement executedStatement = statementArgumentCaptor.getValue();
+
+        assertThat(executedStatement.getSql()).isEqualTo("SELECT * FROM person WHERE age = ?");
+        assertThat(executedStatement.getParameters()).containsExactly(42);
+    }
+
+    @Test
+    void shouldExecuteOriginalStatementWhenParameterizedIsRejected() throws SQLException {
+        ArgumentCaptor<SqlStatement> statementArgumentCaptor = ArgumentCaptor.forClass(SqlStatement.class);
+        when(client.isAutoParameterize()).thenReturn(true);
+        when(client.execute(any()))
+                .thenThrow(new HazelcastSqlException(UuidUtil.newUnsecureUUID(), SqlErrorCode.PARSING,
+                        "Cannot apply '=' operator", QueryException.error(""), null))
+                .thenReturn(queryResult());
+
+        Statement statement = new JdbcStatement(client, connection);
+        statement.executeQuery("SELECT * FROM person WHERE age = 42");
+
+        verify(client, times(2)).execute(statementArgumentCaptor.capture());
+        assertThat(statementArgumentCaptor.getAllValues().get(1).getSql())
+                .isEqualTo("SELECT * FROM person WHERE age = 42");
+    }
+
+    @Test
+    void shouldExecuteOriginalStatementWhenParameterDoesNotFitColumn() throws SQLException {
+        ArgumentCaptor<SqlStatement> statementArgumentCaptor = ArgumentCaptor.forClass(SqlStatement.class);
+        when(client.isAutoParameterize()).thenReturn(true);
+        when(client.execute(any()))
+                .thenThrow(new HazelcastSqlException(UuidUtil.newUnsecureUUID(), SqlErrorCode.DATA_EXCEPTION,
+                        "Numeric overflow while converting INTEGER to TINYINT", QueryException.error(""), null))
+                .thenReturn(queryResult());
+
+        Statement statement = new JdbcStatement(client, connection);
+        statement.executeQuery("SELECT * FROM person WHERE age = 1000");
+
+        verify(client, times(2)).execute(statementArgumentCaptor.capture());
+        assertThat(statementArgumentCaptor.getAllValues().get(1).getSql())
+                .isEqualTo("SELECT * FROM person WHERE age = 1000");
+    }
+
+    @Test
+    void shouldNotExecuteOriginalStatementWhenParameterizedFailsDuringExecution() throws SQLException {
+        when(client.isAutoParameterize()).thenReturn(true);
+        when(client.execute(any()))
+                .thenThrow(new HazelcastSqlException(UuidUtil.newUnsecureUUID(), SqlErrorCode.GENERIC,
+                        "Member left", QueryException.error(""), null));
+
+        Statement statement = new JdbcStatement(client, connection);
+        assertThatThrownBy(() -> statement.executeQuery("SELECT * FROM person WHERE age = 42"))
+                .isInstanceOf(SQLException.class);
+
+        verify(client).execute(any());
+    }
+
+    @Test
+    void shouldInvalidateMetadataAfterSchemaChange() throws SQLException {
+        when(client.execute(any())).thenReturn(updateResult());
+        Statement statement = new JdbcStatement(client, connection);
+
+        statement.executeUpdate("INSERT INTO person VALUES (1, 'Joe')");
+        verify(client, never()).invalidateMetadata();
+
+        statement.executeUpdate("/* mapping */ CREATE MAPPING person TYPE IMap OPTIONS ('keyFormat'='int')");
+        statement.execute("drop view person_view");
+        verify(client, times(2)).invalidateMetadata();
+    }
+
+    @Test
+    void shouldExecuteUpdatesBehindAndFlushBeforeQuery() throws SQLException {
+        WriteBehind writeBehind = new WriteBehind(4);
+        when(client.getWriteBehind()).thenReturn(writeBehind);
+        when(client.execute(any())).thenReturn(updateResult());
+        ArgumentCaptor<SqlStatement> statementArgumentCaptor = ArgumentCaptor.forClass(SqlStatement.class);
+        try {
+            Statement statement = new JdbcStatement(client, connection);
+            assertThat(statement.executeUpdate("INSERT INTO person VALUES (1, 'Joe')")).isZero();
+            assertThat(statement.executeUpdate("DELETE FROM person WHERE __key = 2")).isZero();
+            statement.executeQuery("SELECT * FROM person");
+
+            verify(client, times(3)).execute(statementArgumentCaptor.capture());
+            assertThat(statementArgumentCaptor.getAllValues()).extracting(SqlStatement::getSql).containsExactly(
+                    "INSERT INTO person VALUES (1, 'Joe')",
+                    "DELETE FROM person WHERE __key = 2",
+                    "SELECT * FROM person");
+        } finally {
+            writeBehind.close();
+        }
+    }
+
+    @Test
+    void shouldExecuteScriptAndReturnResultsInOrder() throws SQLException {
+        when(client.getPipeline()).thenReturn(SqlScript.newPipeline());
+        CountDownLatch queriesStarted = new CountDownLatch(2);
+        when(client.execute(any())).thenAnswer(invocation -> {
+            SqlStatement statement = invocation.getArgument(0);
+            if (statement.getSql().startsWith("SELECT")) {
+                // both queries must be in flight at the same time
+                queriesStarted.countDown();
+                assertThat(queriesStarted.await(5, TimeUnit.SECONDS)).isTrue();
+                return queryResult();
+            }
+            return updateResult();
+        });
+        Statement statement = new JdbcStatement(client, connection);
+
+        assertThat(statement.execute("SELECT * FROM person; SELECT ';' FROM pet; -- comment\n"
+                + "UPDATE person SET age = 1;")).isTrue();
+
+        ResultSet first = statement.getResultSet();
+        assertThat(statement.getMoreResults(Statement.KEEP_CURRENT_RESULT)).isTrue();
+        assertThat(first.isClosed()).isFalse();
+        ResultSet second = statement.getResultSet();
+        assertThat(statement.getMoreResults()).isFalse();
+        assertThat(second.isClosed()).isTrue();
+        assertThat(statement.getUpdateCount()).isEqualTo(3);
+        assertThat(statement.getMoreResults(Statement.KEEP_CURRENT_RESULT)).isFalse();
+        assertThat(statement.getUpdateCount()).isEqualTo(-1);
+        assertThat(first.isClosed()).isFalse();
+        assertThat(statement.getMoreResults(Statement.CLOSE_ALL_RESULTS)).isFalse();
+        assertThat(first.isClosed()).isTrue();
+        assertThat(statement.getUpdateCount()).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldRouteStatementsOfScriptIndependently() throws SQLException {
+        when(client.getPipeline()).thenReturn(SqlScript.newPipeline());
+        AbstractSqlResult routedResult = mock(AbstractSqlResult.class);
+        when(routedResult.getPartitionArgumentIndex()).thenReturn(0);
+        when(routedResult.isRowSet()).thenReturn(true);
+        when(client.execute(any())).thenReturn(routedResult);
+        when(client.isAutoParameterize()).thenReturn(true);
+        Statement statement = new JdbcStatement(client, connection);
+
+        statement.executeQuery("SELECT * FROM person WHERE __key = 1");
+        assertThat(((JdbcStatement) statement).getPartitionArgumentIndex()).isEqualTo(0);
+
+        statement.execute("SELECT * FROM person WHERE __key = 1; SELECT * FROM person WHERE __key = 2");
+        assertThat(((JdbcStatement) statement).getPartitionArgumentIndex()).isEqualTo(-1);
+        verify(client, times(3)).execute(any());
+    }
+
+    @Test
+    void shouldStopScriptAtFailedStatement() throws SQLException {
+        when(client.execute(any())).thenAnswer(invocation -> {
+            SqlStatement statement = invocation.getArgument(0);
+            if (statement.getSql().startsWith("DELETE")) {
+                throw new HazelcastSqlException(
+                        UuidUtil.newUnsecureUUID(), SqlErrorCode.GENERIC, "failed", QueryException.error(""), null);
+            }
+            return updateResult();
+        });
+        Statement statement = new JdbcStatement(client, connection);
+
+        assertThatThrownBy(() -> statement.execute("UPDATE person SET age = 1; DELETE FROM person; DELETE FROM pet"))
+                .isInstanceOf(SQLException.class)
+                .hasMessage("failed");
+        verify(client, times(2)).execute(any());
+    }
+
+    @Test
+    void shouldRouteByReportedPartitionArgument() throws SQLException {
+        String sql = "SELECT * FROM person WHERE __key = ?";
+        AbstractSqlResult result = mock(AbstractSqlResult.class);
+        when(result.getPartitionArgumentIndex()).thenReturn(0);
+        when(client.execute(any())).thenReturn(result);
+        when(client.getPartitionArgumentIndex(sql)).thenReturn(OptionalInt.of(0));
+        ArgumentCaptor<SqlStatement> statementArgumentCaptor = ArgumentCaptor.forClass(SqlStatement.class);
+
+        JdbcPreparedStatement statement = new JdbcPreparedStatement(sql, client, connection);
+        statement.setInt(1, 42);
+        statement.execute();
+
+        verify(client).execute(statementArgumentCaptor.capture());
+        assertThat(statementArgumentCaptor.getValue().getPartitionArgumentIndex()).isEqualTo(0);
+        verify(client).setPartitionArgumentIndex(sql, 0);
+        assertThat(statement.getPartitionArgumentIndex()).isEqualTo(0);
+    }
+
     @Test
     void shouldOnlySupportValidFetchDirection() throws SQLException {
         Statement statement = new JdbcStatement(client, connection);
@@ -59,6 +59,16 @@ class JdbcUrlTest {
         assertThat(urlWithoutPort.getAuthorities()).contains("clustername");
     }
 
+    @Test
+    void test_embeddedUrl() {
+        JdbcUrl url = new JdbcUrl("jdbc:hazelcast:embedded://my-member/?prop1=val1", new Properties());
+
+        assertThat(url.isEmbedded()).isTrue();
+        assertThat(url.getRawAuthority()).isEqualTo("my-member");
+        assertThat(url.getProperty("prop1")).isEqualTo("val1");
+        assertThat(new JdbcUrl("jdbc:hazelcast://localhost:5701/", null).isEmbedded()).isFalse();
+    }
+
     @Test
     void test_propertyParsing_withEscaping() {
         JdbcUrl url = new JdbcUrl("jdbc:hazelcast://local%68ost:5701/?a=%26&b%3d=c", new Properties());
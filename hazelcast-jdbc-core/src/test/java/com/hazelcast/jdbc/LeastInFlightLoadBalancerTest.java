@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.cluster.Cluster;
+import com.hazelcast.cluster.InitialMembershipEvent;
+import com.hazelcast.cluster.Member;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LeastInFlightLoadBalancerTest {
+
+    private final Member first = member(false);
+    private final Member second = member(false);
+    private final Member lite = member(true);
+    private final LeastInFlightLoadBalancer loadBalancer = new LeastInFlightLoadBalancer();
+
+    @Test
+    void when_noMembers_then_null() {
+        assertThat(loadBalancer.next()).isNull();
+    }
+
+    @Test
+    void when_sameLoad_then_allMembersPicked() {
+        init(first, second);
+
+        Set<Member> picked = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            picked.add(loadBalancer.next());
+        }
+
+        assertThat(picked).containsExactlyInAnyOrder(first, second);
+    }
+
+    @Test
+    void when_statementsInFlight_then_leastLoadedPicked() {
+        init(first, second, lite);
+        loadBalancer.started(first);
+        loadBalancer.started(lite);
+        loadBalancer.started(lite);
+
+        assertThat(loadBalancer.next()).isSameAs(second);
+
+        loadBalancer.started(second);
+        loadBalancer.started(second);
+        assertThat(loadBalancer.next()).isSameAs(first);
+
+        loadBalancer.finished(second);
+        loadBalancer.finished(second);
+        assertThat(loadBalancer.inFlight(second)).isZero();
+        assertThat(loadBalancer.next()).isSameAs(second);
+    }
+
+    @Test
+    void when_onlyLiteMembers_then_liteMemberPicked() {
+        init(lite);
+
+        assertThat(loadBalancer.next()).isSameAs(lite);
+    }
+
+    private void init(Member... members) {
+        Set<Member> memberSet = new LinkedHashSet<>(Arrays.asList(members));
+        Cluster cluster = mock(Cluster.class);
+        when(cluster.getMembers()).thenReturn(memberSet);
+        loadBalancer.init(cluster, new ClientConfig());
+        loadBalancer.init(new InitialMembershipEvent(cluster, memberSet));
+    }
+
+    private static Member member(boolean lite) {
+        Member member = mock(Member.class);
+        when(member.getUuid()).thenReturn(UUID.randomUUID());
+        when(member.isLiteMember()).thenReturn(lite);
+        return member;
+    }
+}
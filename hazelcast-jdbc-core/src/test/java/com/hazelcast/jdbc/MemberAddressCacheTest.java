@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.properties.ClientProperty;
+import com.hazelcast.cluster.Address;
+import com.hazelcast.cluster.InitialMembershipEvent;
+import com.hazelcast.cluster.InitialMembershipListener;
+import com.hazelcast.cluster.Member;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.DiscoveryStrategyConfig;
+import com.hazelcast.config.ListenerConfig;
+import com.hazelcast.config.properties.PropertyDefinition;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.LifecycleEvent;
+import com.hazelcast.core.LifecycleEvent.LifecycleState;
+import com.hazelcast.core.LifecycleListener;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.discovery.AbstractDiscoveryStrategy;
+import com.hazelcast.spi.discovery.DiscoveryNode;
+import com.hazelcast.spi.discovery.DiscoveryStrategy;
+import com.hazelcast.spi.discovery.DiscoveryStrategyFactory;
+import com.hazelcast.spi.discovery.SimpleDiscoveryNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MemberAddressCacheTest {
+
+    private static final AtomicInteger DISCOVERIES = new AtomicInteger();
+    private static volatile List<DiscoveryNode> discoveredNodes = Collections.emptyList();
+
+    private final String clusterName = UUID.randomUUID().toString();
+    private final JdbcUrl url = new JdbcUrl("jdbc:hazelcast://" + clusterName + "/?memberAddressCache=true", null);
+    private final List<HazelcastInstance> instances = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        instances.forEach(HazelcastInstance::shutdown);
+    }
+
+    @Test
+    void when_noDiscovery_then_configUnchanged() {
+        ClientConfig config = new ClientConfig();
+        config.getNetworkConfig().addAddress("localhost:5701");
+
+        assertThat(MemberAddressCache.usesDiscovery(config)).isFalse();
+    }
+
+    @Test
+    void when_withAddresses_then_discoveryDisabled() {
+        ClientConfig config = new ClientConfig();
+        config.getNetworkConfig().getKubernetesConfig().setEnabled(true);
+        assertThat(MemberAddressCache.usesDiscovery(config)).isTrue();
+
+        ClientConfig direct = MemberAddressCache.withAddresses(config, Collections.singletonList("10.0.0.1:5701"));
+
+        assertThat(MemberAddressCache.usesDiscovery(direct)).isFalse();
+        assertThat(direct.getNetworkConfig().getAddresses()).containsExactly("10.0.0.1:5701");
+        assertThat(direct.getConnectionStrategyConfig().getConnectionRetryConfig().getClusterConnectTimeoutMillis())
+                .isEqualTo(MemberAddressCache.CACHED_CONNECT_TIMEOUT_MILLIS);
+        assertThat(config.getNetworkConfig().getKubernetesConfig().isEnabled()).isTrue();
+    }
+
+    @Test
+    void when_addressesCached_then_discoverySkipped() throws Exception {
+        HazelcastInstance member = newMember();
+        discoveredNodes = Collections.singletonList(node(member));
+
+        MemberAddressCache.newClient(url, clientConfig(), HazelcastClient::newHazelcastClient).shutdown();
+        int discoveries = DISCOVERIES.get();
+        assertThat(discoveries).isPositive();
+        assertThat(MemberAddressCache.get(url)).containsExactly(MemberAddressCache.addressOf(
+                member.getCluster().getLocalMember()));
+
+        HazelcastInstance client = MemberAddressCache.newClient(url, clientConfig(), HazelcastClient::newHazelcastClient);
+        instances.add(client);
+
+        assertThat(client.getLifecycleService().isRunning()).isTrue();
+        assertThat(DISCOVERIES.get()).isEqualTo(discoveries);
+    }
+
+    @Test
+    void when_cachedAddressesStale_then_discoveredAgain() throws Exception {
+        HazelcastInstance oldMember = newMember();
+        discoveredNodes = Collections.singletonList(node(oldMember));
+        MemberAddressCache.newClient(url, clientConfig(), HazelcastClient::newHazelcastClient).shutdown();
+
+        HazelcastInstance newMember = newMember();
+        oldMember.shutdown();
+        discoveredNodes = Collections.singletonList(node(newMember));
+        int discoveries = DISCOVERIES.get();
+
+        HazelcastInstance client = MemberAddressCache.newClient(url, clientConfig(), HazelcastClient::newHazelcastClient);
+        instances.add(client);
+
+        assertThat(client.getLifecycleService().isRunning()).isTrue();
+        assertThat(DISCOVERIES.get()).isGreaterThan(discoveries);
+        assertThat(MemberAddressCache.get(url)).contains(MemberAddressCache.addressOf(
+                newMember.getCluster().getLocalMember()));
+    }
+
+    @Test
+    void when_cachedAddressesFail_then_lifecycleListenersNotShutDown() throws Exception {
+        cacheAddresses("10.0.0.1:5701");
+        List<LifecycleState> states = new CopyOnWriteArrayList<>();
+        ClientConfig config = clientConfig().addListenerConfig(new ListenerConfig(
+                (LifecycleListener) event -> states.add(event.getState())));
+        HazelcastInstance discovered = mock(HazelcastInstance.class);
+
+        HazelcastInstance client = MemberAddressCache.newClient(url, config, clientConfig -> {
+            if (MemberAddressCache.usesDiscovery(clientConfig)) {
+                return discovered;
+            }
+            fireLifecycleEvent(clientConfig, LifecycleState.STARTING);
+            fireLifecycleEvent(clientConfig, LifecycleState.SHUTTING_DOWN);
+            fireLifecycleEvent(clientConfig, LifecycleState.SHUTDOWN);
+            throw new IllegalStateException("Unable to connect to any cluster.");
+        });
+
+        assertThat(client).isSameAs(discovered);
+        assertThat(states).containsExactly(LifecycleState.STARTING);
+        assertThat(MemberAddressCache.get(url)).isNull();
+    }
+
+    @Test
+    void when_asyncStart_then_cachedAddressesNotUsed() throws Exception {
+        cacheAddresses("10.0.0.1:5701");
+        ClientConfig config = clientConfig();
+        config.getConnectionStrategyConfig().setAsyncStart(true);
+        List<ClientConfig> configs = new ArrayList<>();
+
+        MemberAddressCache.newClient(url, config, clientConfig -> {
+            configs.add(clientConfig);
+            return mock(HazelcastInstance.class);
+        });
+
+        assertThat(configs).hasSize(1);
+        assertThat(MemberAddressCache.usesDiscovery(configs.get(0))).isTrue();
+    }
+
+    /**
+     * Connects a client which reports a member with the given address.
+     */
+    private void cacheAddresses(String address) throws Exception {
+        Member member = mock(Member.class);
+        String[] hostAndPort = address.split(":");
+        when(member.getAddress()).thenReturn(new Address(hostAndPort[0], Integer.parseInt(hostAndPort[1])));
+        InitialMembershipEvent event = mock(InitialMembershipEvent.class);
+        when(event.getMembers()).thenReturn(Collections.singleton(member));
+        MemberAddressCache.newClient(url, clientConfig(), clientConfig -> {
+            for (ListenerConfig listenerConfig : clientConfig.getListenerConfigs()) {
+                if (listenerConfig.getImplementation() instanceof InitialMembershipListener) {
+                    ((InitialMembershipListener) listenerConfig.getImplementation()).init(event);
+                }
+            }
+            return mock(HazelcastInstance.class);
+        });
+        assertThat(MemberAddressCache.get(url)).containsExactly(address);
+    }
+
+    private static void fireLifecycleEvent(ClientConfig config, LifecycleState state) {
+        for (ListenerConfig listenerConfig : config.getListenerConfigs()) {
+            if (listenerConfig.getImplementation() instanceof LifecycleListener) {
+                ((LifecycleListener) listenerConfig.getImplementation()).stateChanged(new LifecycleEvent(state));
+            }
+        }
+    }
+
+    private HazelcastInstance newMember() {
+        Config config = new Config().setClusterName(clusterName);
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        HazelcastInstance member = Hazelcast.newHazelcastInstance(config);
+        instances.add(member);
+        return member;
+    }
+
+    private ClientConfig clientConfig() {
+        ClientConfig config = new ClientConfig().setClusterName(clusterName)
+                .setProperty(ClientProperty.DISCOVERY_SPI_ENABLED.getName(), "true");
+        config.getNetworkConfig().getDiscoveryConfig()
+                .addDiscoveryStrategyConfig(new DiscoveryStrategyConfig(new StubDiscoveryStrategyFactory()));
+        config.getConnectionStrategyConfig().getConnectionRetryConfig().setClusterConnectTimeoutMillis(10_000);
+        return config;
+    }
+
+    private static DiscoveryNode node(HazelcastInstance member) throws UnknownHostException {
+        Address address = member.getCluster().getLocalMember().getAddress();
+        return new SimpleDiscoveryNode(new Address("127.0.0.1", address.getPort()));
+    }
+
+    private static final class StubDiscoveryStrategyFactory implements DiscoveryStrategyFactory {
+        @Override
+        public Class<? extends DiscoveryStrategy> getDiscoveryStrategyType() {
+            return StubDiscoveryStrategy.class;
+        }
+
+        @Override
+        public DiscoveryStrategy newDiscoveryStrategy(DiscoveryNode discoveryNode, ILogger logger,
+                                                      Map<String, Comparable> properties) {
+            return new StubDiscoveryStrategy(logger, properties);
+        }
+
+        @Override
+        public Collection<PropertyDefinition> getConfigurationProperties() {
+            return Collections.emptyList();
+        }
+    }
+
+    private static final class StubDiscoveryStrategy extends AbstractDiscoveryStrategy {
+        StubDiscoveryStrategy(ILogger logger, Map<String, Comparable> properties) {
+            super(logger, properties);
+        }
+
+        @Override
+        public Iterable<DiscoveryNode> discoverNodes() {
+            DISCOVERIES.incrementAndGet();
+            return discoveredNodes;
+        }
+    }
+}
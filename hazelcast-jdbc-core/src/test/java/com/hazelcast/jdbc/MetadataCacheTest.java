@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetadataCacheTest {
+
+    @Test
+    void shouldCacheLoadedValue() {
+        MetadataCache cache = new MetadataCache(1, TimeUnit.HOURS);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get("key", loads::incrementAndGet)).isEqualTo(1);
+        assertThat(cache.get("key", loads::incrementAndGet)).isEqualTo(1);
+        assertThat(cache.get("other", loads::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test
+    void shouldLoadAgainAfterInvalidation() {
+        MetadataCache cache = new MetadataCache(1, TimeUnit.HOURS);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("key", loads::incrementAndGet);
+        cache.invalidate();
+
+        assertThat(cache.get("key", loads::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotCacheValueLoadedDuringInvalidation() {
+        MetadataCache cache = new MetadataCache(1, TimeUnit.HOURS);
+
+        cache.get("key", () -> {
+            cache.invalidate();
+            return "stale";
+        });
+
+        assertThat(cache.get("key", () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void shouldNotCacheWhenDisabled() {
+        MetadataCache cache = new MetadataCache(0, TimeUnit.SECONDS);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("key", loads::incrementAndGet);
+
+        assertThat(cache.isEnabled()).isFalse();
+        assertThat(cache.get("key", loads::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test
+    void shouldExpireEntries() throws InterruptedException {
+        MetadataCache cache = new MetadataCache(10, TimeUnit.MILLISECONDS);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("key", loads::incrementAndGet);
+        Thread.sleep(20);
+
+        assertThat(cache.get("key", loads::incrementAndGet)).isEqualTo(2);
+    }
+}
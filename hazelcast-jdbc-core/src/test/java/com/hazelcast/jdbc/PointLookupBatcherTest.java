@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import com.hazelcast.sql.HazelcastSqlException;
+import com.hazelcast.sql.SqlColumnMetadata;
+import com.hazelcast.sql.SqlColumnType;
+import com.hazelcast.sql.SqlResult;
+import com.hazelcast.sql.SqlRow;
+import com.hazelcast.sql.SqlRowMetadata;
+import com.hazelcast.sql.SqlStatement;
+import com.hazelcast.sql.impl.SqlErrorCode;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PointLookupBatcherTest {
+
+    private final SqlResult lookupResult = mock(SqlResult.class);
+
+    @Test
+    void shouldRecognizeKeyLookups() {
+        assertThat(PointLookupBatcher.batchQuery("SELECT name, age FROM person WHERE __key = ?"))
+                .isEqualTo("SELECT name, age, __key FROM person WHERE __key IN ");
+        assertThat(PointLookupBatcher.batchQuery("select * from public.\"my map\" where __key=?"))
+                .isEqualTo("SELECT *, __key FROM public.\"my map\" WHERE __key IN ");
+
+        assertThat(PointLookupBatcher.batchQuery("SELECT COUNT(*) FROM person WHERE __key = ?")).isNull();
+        assertThat(PointLookupBatcher.batchQuery("SELECT name FROM person WHERE __key = ? AND age = 1")).isNull();
+        assertThat(PointLookupBatcher.batchQuery("SELECT name FROM person WHERE age = ?")).isNull();
+    }
+
+    @Test
+    void shouldNormalizeNumericKeys() {
+        assertThat(PointLookupBatcher.normalize(1)).isEqualTo(PointLookupBatcher.normalize(1L));
+        assertThat(PointLookupBatcher.normalize((short) 1)).isEqualTo(PointLookupBatcher.normalize(new BigDecimal("1.00")));
+        assertThat(PointLookupBatcher.normalize(1.5d)).isNotEqualTo(PointLookupBatcher.normalize(1L));
+        assertThat(PointLookupBatcher.normalize("1")).isEqualTo("1");
+    }
+
+    @Test
+    void shouldFetchConcurrentLookupsWithOneQuery() throws Exception {
+        int lookups = 8;
+        HazelcastSqlClient client = mock(HazelcastSqlClient.class);
+        SqlRowMetadata metadata = new SqlRowMetadata(asList(
+                new SqlColumnMetadata("name", SqlColumnType.VARCHAR, true),
+                new SqlColumnMetadata("__key", SqlColumnType.INTEGER, false)));
+        List<SqlRow> rows = new ArrayList<>();
+        for (int i = 0; i < lookups; i++) {
+            rows.add(FixedRowsSqlResult.row(metadata, new Object[]{"name" + i, i}));
+        }
+        String sql = "SELECT name FROM person WHERE __key = ?";
+        SqlResult inFlightResult = mock(SqlResult.class);
+        CountDownLatch release = new CountDownLatch(1);
+        when(client.execute(argThat(statement -> statement != null && statement.getSql().equals(sql))))
+                .thenAnswer(invocation -> {
+                    release.await();
+                    return inFlightResult;
+                });
+        when(client.execute(argThat(statement -> statement != null && !statement.getSql().equals(sql))))
+                .thenReturn(new FixedRowsSqlResult(metadata, rows));
+
+        PointLookupBatcher batcher = new PointLookupBatcher(10, TimeUnit.SECONDS, lookups);
+        String batchQuery = PointLookupBatcher.batchQuery(sql);
+        ExecutorService executor = Executors.newFixedThreadPool(lookups + 1);
+        try {
+            SqlStatement first = new SqlStatement(sql).setParameters(asList(-1L));
+            Future<SqlResult> firstResult = executor.submit(() -> batcher.execute(client, first, batchQuery));
+            verify(client, timeout(5000)).execute(any());
+
+            List<Future<SqlResult>> results = new ArrayList<>();
+            for (int i = 0; i < lookups; i++) {
+                SqlStatement statement = new SqlStatement(sql).setParameters(asList((long) i));
+                results.add(executor.submit(() -> batcher.execute(client, statement, batchQuery)));
+            }
+            for (int i = 0; i < lookups; i++) {
+                SqlResult result = results.get(i).get(5, TimeUnit.SECONDS);
+                assertThat(result.getRowMetadata().getColumnCount()).isEqualTo(1);
+                assertThat(result.iterator().next().<String>getObject(0)).isEqualTo("name" + i);
+            }
+            release.countDown();
+            assertThat(firstResult.get(5, TimeUnit.SECONDS)).isSameAs(inFlightResult);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ArgumentCaptor<SqlStatement> captor = ArgumentCaptor.forClass(SqlStatement.class);
+        verify(client, times(2)).execute(captor.capture());
+        assertThat(captor.getAllValues().get(1).getSql())
+                .isEqualTo("SELECT name, __key FROM person WHERE __key IN (?, ?, ?, ?, ?, ?, ?, ?)");
+    }
+
+    @Test
+    void shouldConvertKeysToKeyColumnType() {
+        assertThat(PointLookupBatcher.toKeyType("1", SqlColumnType.INTEGER)).isEqualTo(1L);
+        assertThat(PointLookupBatcher.toKeyType(new BigDecimal("2.0"), SqlColumnType.BIGINT)).isEqualTo(2L);
+        assertThat(PointLookupBatcher.toKeyType(1, SqlColumnType.VARCHAR)).isEqualTo("1");
+        assertThat(PointLookupBatcher.toKeyType(1, SqlColumnType.DECIMAL)).isEqualTo(new BigDecimal("1"));
+        assertThat(PointLookupBatcher.toKeyType("x", SqlColumnType.INTEGER)).isSameAs(PointLookupBatcher.NOT_CONVERTIBLE);
+        assertThat(PointLookupBatcher.toKeyType(1.5d, SqlColumnType.INTEGER)).isSameAs(PointLookupBatcher.NOT_CONVERTIBLE);
+        assertThat(PointLookupBatcher.toKeyType(1.5d, SqlColumnType.VARCHAR)).isSameAs(PointLookupBatcher.NOT_CONVERTIBLE);
+    }
+
+    @Test
+    void when_boundKeysOfOtherType_then_convertedToKeyColumnType() throws Exception {
+        HazelcastSqlClient client = mock(HazelcastSqlClient.class);
+        SqlRowMetadata metadata = new SqlRowMetadata(asList(
+                new SqlColumnMetadata("name", SqlColumnType.VARCHAR, true),
+                new SqlColumnMetadata("__key", SqlColumnType.INTEGER, false)));
+        when(client.execute(argThat(statement -> statement != null && statement.getSql().contains(" IN "))))
+                .thenReturn(new FixedRowsSqlResult(metadata, asList(
+                        FixedRowsSqlResult.row(metadata, new Object[]{"name1", 1}),
+                        FixedRowsSqlResult.row(metadata, new Object[]{"name2", 2}))));
+
+        List<SqlResult> results = executeBatched(client, asList("1", 2L));
+
+        assertThat(results.get(0).iterator().next().<String>getObject(0)).isEqualTo("name1");
+        assertThat(results.get(1).iterator().next().<String>getObject(0)).isEqualTo("name2");
+    }
+
+    @Test
+    void when_keyNotConvertible_then_executedAlone() throws Exception {
+        HazelcastSqlClient client = mock(HazelcastSqlClient.class);
+        SqlRowMetadata metadata = new SqlRowMetadata(asList(
+                new SqlColumnMetadata("name", SqlColumnType.VARCHAR, true),
+                new SqlColumnMetadata("__key", SqlColumnType.INTEGER, false)));
+        when(client.execute(argThat(statement -> statement != null && statement.getSql().contains(" IN "))))
+                .thenReturn(new FixedRowsSqlResult(metadata, asList(
+                        FixedRowsSqlResult.row(metadata, new Object[]{"name1", 1}))));
+
+        List<SqlResult> results = executeBatched(client, asList(1, "one"));
+
+        assertThat(results.get(0).iterator().next().<String>getObject(0)).isEqualTo("name1");
+        assertThat(results.get(1)).isSameAs(lookupResult);
+    }
+
+    @Test
+    void when_batchFails_then_lookupsExecutedAlone() throws Exception {
+        HazelcastSqlClient client = mock(HazelcastSqlClient.class);
+        when(client.execute(argThat(statement -> statement != null && statement.getSql().contains(" IN "))))
+                .thenThrow(new HazelcastSqlException(null, SqlErrorCode.DATA_EXCEPTION, "Cannot convert", null, null));
+
+        List<SqlResult> results = executeBatched(client, asList(1, "one"));
+
+        assertThat(results).containsOnly(lookupResult);
+    }
+
+    /**
+     * Executes the lookups of the keys in one batch, while a lookup of another key is in flight.
+     * The lookups executed alone return {@link #lookupResult}.
+     */
+    private List<SqlResult> executeBatched(HazelcastSqlClient client, List<Object> keys) throws Exception {
+        String sql = "SELECT name FROM person WHERE __key = ?";
+        CountDownLatch release = new CountDownLatch(1);
+        when(client.execute(argThat(statement -> statement != null && statement.getSql().equals(sql)
+                && statement.getParameters().get(0).equals(-1)))).thenAnswer(invocation -> {
+                    release.await();
+                    return lookupResult;
+                });
+        when(client.execute(argThat(statement -> statement != null && statement.getSql().equals(sql)
+                && !statement.getParameters().get(0).equals(-1)))).thenReturn(lookupResult);
+
+        PointLookupBatcher batcher = new PointLookupBatcher(10, TimeUnit.SECONDS, keys.size());
+        String batchQuery = PointLookupBatcher.batchQuery(sql);
+        ExecutorService executor = Executors.newFixedThreadPool(keys.size() + 1);
+        try {
+            Future<SqlResult> inFlight = executor.submit(() -> batcher.execute(client,
+                    new SqlStatement(sql).setParameters(asList(-1)), batchQuery));
+            verify(client, timeout(5000)).execute(any());
+            List<Future<SqlResult>> futures = new ArrayList<>();
+            for (Object key : keys) {
+                SqlStatement statement = new SqlStatement(sql).setParameters(asList(key));
+                futures.add(executor.submit(() -> batcher.execute(client, statement, batchQuery)));
+            }
+            List<SqlResult> results = new ArrayList<>();
+            for (Future<SqlResult> future : futures) {
+                results.add(future.get(5, TimeUnit.SECONDS));
+            }
+            release.countDown();
+            inFlight.get(5, TimeUnit.SECONDS);
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void when_noLookupInFlight_then_executedWithoutWaiting() throws Exception {
+        HazelcastSqlClient client = mock(HazelcastSqlClient.class);
+        when(client.execute(any())).thenReturn(lookupResult);
+        String sql = "SELECT name FROM person WHERE __key = ?";
+        SqlStatement statement = new SqlStatement(sql).setParameters(asList(1L));
+        PointLookupBatcher batcher = new PointLookupBatcher(10, TimeUnit.SECONDS, 100);
+
+        long start = System.nanoTime();
+        assertThat(batcher.execute(client, statement, PointLookupBatcher.batchQuery(sql))).isSameAs(lookupResult);
+        assertThat(batcher.execute(client, statement, PointLookupBatcher.batchQuery(sql))).isSameAs(lookupResult);
+
+        assertThat(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start)).isLessThan(5);
+        verify(client, times(2)).execute(statement);
+    }
+}
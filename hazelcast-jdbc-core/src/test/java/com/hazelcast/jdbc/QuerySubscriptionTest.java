@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.map.listener.MapListener;
+import com.hazelcast.sql.SqlColumnMetadata;
+import com.hazelcast.sql.SqlColumnType;
+import com.hazelcast.sql.SqlResult;
+import com.hazelcast.sql.SqlRow;
+import com.hazelcast.sql.SqlRowMetadata;
+import com.hazelcast.sql.SqlStatement;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuerySubscriptionTest {
+
+    private static final SqlRowMetadata MAPPINGS = new SqlRowMetadata(singletonList(
+            new SqlColumnMetadata("mapping_external_name", SqlColumnType.VARCHAR, true)));
+    private static final SqlRowMetadata PERSON = new SqlRowMetadata(asList(
+            new SqlColumnMetadata("__key", SqlColumnType.INTEGER, true),
+            new SqlColumnMetadata("name", SqlColumnType.VARCHAR, true),
+            new SqlColumnMetadata("age", SqlColumnType.INTEGER, true)));
+
+    /** Rows of the "person" mapping by key, the condition of the test is "age > 30". */
+    private final Map<Integer, Object[]> people = new TreeMap<>();
+    private final HazelcastSqlClient client = mock(HazelcastSqlClient.class);
+    private final IMap<Object, Object> map = mock(IMap.class);
+    private final BlockingQueue<String> changes = new LinkedBlockingQueue<>();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldDeliverSnapshotAndChanges() throws Exception {
+        people.put(1, new Object[]{1, "Joe", 40});
+        people.put(2, new Object[]{2, "Ann", 20});
+        JdbcConnection connection = connection();
+        ArgumentCaptor<MapListener> listenerCaptor = ArgumentCaptor.forClass(MapListener.class);
+
+        QuerySubscription subscription = connection.subscribe("person", "age > 30", listener());
+        verify(map).addEntryListener(listenerCaptor.capture(), anyBoolean());
+        assertThat(changes.poll(5, TimeUnit.SECONDS)).isEqualTo("row 1 Joe");
+
+        people.put(3, new Object[]{3, "Bob", 50});
+        ((EntryAddedListener<Object, Object>) listenerCaptor.getValue()).entryAdded(event(3));
+        assertThat(changes.poll(5, TimeUnit.SECONDS)).isEqualTo("row 3 Bob");
+
+        people.put(1, new Object[]{1, "Joe", 10});
+        ((EntryUpdatedListener<Object, Object>) listenerCaptor.getValue()).entryUpdated(event(1));
+        assertThat(changes.poll(5, TimeUnit.SECONDS)).isEqualTo("delete 1");
+
+        people.remove(3);
+        ((EntryRemovedListener<Object, Object>) listenerCaptor.getValue()).entryRemoved(event(3));
+        assertThat(changes.poll(5, TimeUnit.SECONDS)).isEqualTo("delete 3");
+
+        connection.close();
+        assertThat(subscription.isClosed()).isTrue();
+        verify(map).removeEntryListener(any());
+    }
+
+    @Test
+    void shouldFailForUnknownMapping() throws SQLException {
+        JdbcConnection connection = connection();
+
+        assertThatThrownBy(() -> connection.subscribe("pet", null, listener()))
+                .isInstanceOf(SQLException.class)
+                .hasMessage("IMap mapping not found: pet");
+    }
+
+    @Test
+    void when_snapshotStatementFails_then_listenerRemoved() throws SQLException {
+        JdbcConnection connection = spy(connection());
+        doThrow(new SQLException("failed")).when(connection).prepareStatement(
+                argThat(sql -> sql != null && sql.startsWith("SELECT __key") && !sql.contains("__key = ?")));
+
+        assertThatThrownBy(() -> QuerySubscription.start(connection, "person", null, listener()))
+                .isInstanceOf(SQLException.class)
+                .hasMessage("failed");
+        verify(map).removeEntryListener(any());
+    }
+
+    private JdbcConnection connection() throws SQLException {
+        HazelcastInstance instance = mock(HazelcastInstance.class);
+        when(client.getClient()).thenReturn(instance);
+        when(instance.getMap("person_map")).thenReturn(map);
+        when(map.addEntryListener(any(MapListener.class), anyBoolean())).thenReturn(UUID.randomUUID());
+        when(client.execute(any())).thenAnswer(invocation -> execute(invocation.getArgument(0)));
+        return new JdbcConnection(client);
+    }
+
+    private SqlResult execute(SqlStatement statement) {
+        String sql = statement.getSql();
+        List<SqlRow> rows = new ArrayList<>();
+        if (sql.contains("information_schema.mappings")) {
+            if (statement.getParameters().get(1).equals("person")) {
+                rows.add(FixedRowsSqlResult.row(MAPPINGS, new Object[]{"\"person_map\""}));
+            }
+            return new FixedRowsSqlResult(MAPPINGS, rows);
+        }
+        assertThat(sql).startsWith("SELECT __key, * FROM \"person\" WHERE ");
+        boolean lookup = sql.contains("__key = ?");
+        for (Object[] person : people.values()) {
+            if ((int) person[2] > 30 && (!lookup || person[0].equals(statement.getParameters().get(0)))) {
+                rows.add(FixedRowsSqlResult.row(PERSON, person));
+            }
+        }
+        return new FixedRowsSqlResult(PERSON, rows);
+    }
+
+    private ChangeListener listener() {
+        return new ChangeListener() {
+            @Override
+            public void onRow(Object key, ResultSet row) throws SQLException {
+                changes.add("row " + key + " " + row.getString("name"));
+            }
+
+            @Override
+            public void onDelete(Object key) {
+                changes.add("delete " + key);
+            }
+
+            @Override
+            public void onError(SQLException e) {
+                changes.add("error " + e.getMessage());
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EntryEvent<Object, Object> event(int key) {
+        EntryEvent<Object, Object> event = mock(EntryEvent.class);
+        when(event.getKey()).thenReturn(key);
+        return event;
+    }
+}
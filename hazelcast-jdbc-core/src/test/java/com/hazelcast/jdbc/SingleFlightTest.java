@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import com.hazelcast.sql.HazelcastSqlException;
+import com.hazelcast.sql.SqlColumnMetadata;
+import com.hazelcast.sql.SqlColumnType;
+import com.hazelcast.sql.SqlResult;
+import com.hazelcast.sql.SqlRow;
+import com.hazelcast.sql.SqlRowMetadata;
+import com.hazelcast.sql.SqlStatement;
+import com.hazelcast.sql.impl.AbstractSqlResult;
+import com.hazelcast.sql.impl.SqlErrorCode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SingleFlightTest {
+
+    private static final SqlRowMetadata METADATA = new SqlRowMetadata(singletonList(
+            new SqlColumnMetadata("name", SqlColumnType.VARCHAR, true)));
+
+    @Test
+    void shouldShareOnlyQueries() {
+        assertThat(SingleFlight.isShareable("SELECT * FROM person")).isTrue();
+        assertThat(SingleFlight.isShareable(" with t AS (SELECT 1) SELECT * FROM t")).isTrue();
+        assertThat(SingleFlight.isShareable("INSERT INTO person VALUES (1, 'Joe')")).isFalse();
+        assertThat(SingleFlight.isShareable("SINK INTO person SELECT * FROM other")).isFalse();
+    }
+
+    @Test
+    void shouldExecuteConcurrentIdenticalQueriesOnce() throws Exception {
+        int callers = 4;
+        HazelcastSqlClient client = mock(HazelcastSqlClient.class);
+        CountDownLatch executing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(client.execute(any())).thenAnswer(invocation -> {
+            executing.countDown();
+            release.await();
+            return new FixedRowsSqlResult(METADATA, asList(row("Joe"), row("Ann")));
+        });
+
+        SingleFlight singleFlight = new SingleFlight();
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<SqlResult>> results = new ArrayList<>();
+            results.add(executor.submit(() -> singleFlight.execute(client, statement())));
+            executing.await();
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute(client, statement())));
+            }
+            // give the followers time to join the flight
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<SqlResult> result : results) {
+                List<String> names = new ArrayList<>();
+                for (SqlRow row : result.get(5, TimeUnit.SECONDS)) {
+                    names.add(row.getObject(0));
+                }
+                assertThat(names).containsExactly("Joe", "Ann");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(client, times(1)).execute(any());
+
+        // completed queries are not cached
+        singleFlight.execute(client, statement());
+        verify(client, times(2)).execute(any());
+    }
+
+    @Test
+    void when_noCallerWaiting_then_rowsNotBuffered() throws Exception {
+        HazelcastSqlClient client = mock(HazelcastSqlClient.class);
+        SqlResult result = new FixedRowsSqlResult(METADATA, asList(row("Joe"), row("Ann")));
+        when(client.execute(any())).thenReturn(result);
+
+        assertThat(new SingleFlight().execute(client, statement())).isSameAs(result);
+    }
+
+    @Test
+    void when_shared_then_partitionArgumentIndexKept() throws Exception {
+        HazelcastSqlClient client = mock(HazelcastSqlClient.class);
+        List<Future<SqlResult>> results = executeWithFollower(client, new SingleFlight(), statement(),
+                new FixedRowsSqlResult(METADATA, asList(row("Joe")), 0));
+
+        assertThat(((AbstractSqlResult) results.get(1).get(5, TimeUnit.SECONDS)).getPartitionArgumentIndex())
+                .isZero();
+        verify(client, times(1)).execute(any());
+    }
+
+    @Test
+    void when_moreRowsThanShared_then_waitingCallerExecutesQuery() throws Exception {
+        HazelcastSqlClient client = mock(HazelcastSqlClient.class);
+        List<Future<SqlResult>> results = executeWithFollower(client, new SingleFlight(2), statement(),
+                new FixedRowsSqlResult(METADATA, asList(row("Joe"), row("Ann"), row("Bob"))));
+
+        assertThat(names(results.get(0).get(5, TimeUnit.SECONDS))).containsExactly("Joe", "Ann", "Bob");
+        assertThat(names(results.get(1).get(5, TimeUnit.SECONDS))).containsExactly("Tom");
+        verify(client, times(2)).execute(any());
+    }
+
+    @Test
+    void when_queryTimeoutExpires_then_waitingCallerFails() throws Exception {
+        HazelcastSqlClient client = mock(HazelcastSqlClient.class);
+        List<Future<SqlResult>> results = executeWithFollower(client, new SingleFlight(), statement().setTimeoutMillis(50),
+                new FixedRowsSqlResult(METADATA, asList(row("Joe"))));
+
+        assertThatThrownBy(() -> results.get(1).get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(HazelcastSqlException.class)
+                .satisfies(e -> assertThat(((HazelcastSqlException) e.getCause()).getCode())
+                        .isEqualTo(SqlErrorCode.TIMEOUT));
+    }
+
+    /**
+     * Executes the statement twice, the second execution starts while the first waits for
+     * its first page. The first execution returns the given result after 200 ms, the others
+     * a result with the row "Tom".
+     */
+    private static List<Future<SqlResult>> executeWithFollower(HazelcastSqlClient client, SingleFlight singleFlight,
+                                                               SqlStatement statement, SqlResult leaderResult)
+            throws Exception {
+        CountDownLatch executing = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        when(client.execute(any())).thenAnswer(invocation -> {
+            if (executions.getAndIncrement() > 0) {
+                return new FixedRowsSqlResult(METADATA, singletonList(row("Tom")));
+            }
+            executing.countDown();
+            Thread.sleep(200);
+            return leaderResult;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<SqlResult>> results = new ArrayList<>();
+            results.add(executor.submit(() -> singleFlight.execute(client, statement)));
+            executing.await();
+            results.add(executor.submit(() -> singleFlight.execute(client, statement)));
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static List<String> names(SqlResult result) {
+        List<String> names = new ArrayList<>();
+        for (SqlRow row : result) {
+            names.add(row.getObject(0));
+        }
+        return names;
+    }
+
+    private static SqlStatement statement() {
+        return new SqlStatement("SELECT name FROM person WHERE age > ?").setParameters(singletonList(18));
+    }
+
+    private static SqlRow row(String name) {
+        return FixedRowsSqlResult.row(METADATA, new Object[]{name});
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import com.hazelcast.jdbc.SqlLiteralParameterizer.ParameterizedSql;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlLiteralParameterizerTest {
+
+    @Test
+    void shouldReplaceComparisonOperands() {
+        ParameterizedSql result = SqlLiteralParameterizer.parameterize(
+                "SELECT name FROM person WHERE id = 42 AND name <> 'O''Brien' AND 1.5 < salary");
+
+        assertThat(result.getSql()).isEqualTo("SELECT name FROM person WHERE id = ? AND name <> ? AND CAST(? AS DECIMAL) < salary");
+        assertThat(result.getParameters()).containsExactly(42, "O'Brien", new BigDecimal("1.5"));
+    }
+
+    @Test
+    void shouldTypeIntegersAsInteger() {
+        ParameterizedSql result = SqlLiteralParameterizer.parameterize(
+                "SELECT * FROM t WHERE a = 1 AND b = 1000 AND c = 100000 AND d = 10000000000 AND e = -5 AND f = 1e3");
+
+        assertThat(result.getSql()).isEqualTo("SELECT * FROM t WHERE a = ? AND b = ? AND c = ? AND d = ? AND e = ? AND f = CAST(? AS DOUBLE)");
+        assertThat(result.getParameters()).containsExactly(1, 1000, 100000, 10000000000L, -5, 1000d);
+    }
+
+    @Test
+    void shouldReplaceInListLikeAndBetween() {
+        assertThat(SqlLiteralParameterizer.parameterize(
+                "SELECT * FROM person WHERE id IN (1, 2) AND name LIKE 'J%' AND age BETWEEN 18 AND 65").getSql())
+                .isEqualTo("SELECT * FROM person WHERE id IN (?, ?) AND name LIKE ? AND age BETWEEN ? AND ?");
+    }
+
+    @Test
+    void shouldKeepLiteralsWithoutInferableType() {
+        assertThat(SqlLiteralParameterizer.parameterize(
+                "SELECT 1, CAST(a AS DECIMAL(10, 2)) FROM t WHERE d = DATE '2021-01-01' ORDER BY 1 LIMIT 10").getSql())
+                .isEqualTo("SELECT 1, CAST(a AS DECIMAL(10, 2)) FROM t WHERE d = DATE '2021-01-01' ORDER BY 1 LIMIT 10");
+    }
+
+    @Test
+    void shouldKeepLiteralOnlyComparisons() {
+        ParameterizedSql result = SqlLiteralParameterizer.parameterize(
+                "SELECT * FROM t WHERE 1 = 1 AND 'a' <> 'b' AND 2 > -1 AND x = 3");
+
+        assertThat(result.getSql()).isEqualTo("SELECT * FROM t WHERE 1 = 1 AND 'a' <> 'b' AND 2 > -1 AND x = ?");
+        assertThat(result.getParameters()).containsExactly(3);
+    }
+
+    @Test
+    void shouldNormalizeWhitespaceAndComments() {
+        ParameterizedSql result = SqlLiteralParameterizer.parameterize(
+                "  SELECT *\n\tFROM \"my table\" -- comment\n WHERE /* x = 1 */ x = 2  ");
+
+        assertThat(result.getSql()).isEqualTo("SELECT * FROM \"my table\" WHERE x = ?");
+        assertThat(result.getParameters()).isEqualTo(asList(2));
+    }
+
+    @Test
+    void shouldSkipDdlAndParameterizedStatements() {
+        assertThat(SqlLiteralParameterizer.parameterize("CREATE MAPPING m TYPE IMap OPTIONS ('keyFormat'='int')")).isNull();
+        assertThat(SqlLiteralParameterizer.parameterize("SELECT * FROM t WHERE a = ? AND b = 1")).isNull();
+    }
+
+    @Test
+    void shouldSkipUpdates() {
+        assertThat(SqlLiteralParameterizer.parameterize("INSERT INTO person VALUES (1, 'Joe')")).isNull();
+        assertThat(SqlLiteralParameterizer.parameterize("UPDATE person SET name = 'Joe' WHERE id = 1")).isNull();
+        assertThat(SqlLiteralParameterizer.parameterize("DELETE FROM person WHERE id = 1")).isNull();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlScriptTest {
+
+    @Test
+    void shouldSplitAtSemicolons() {
+        assertThat(SqlScript.split("SELECT 1; SELECT 2;\n  SELECT 3")).containsExactly(
+                "SELECT 1", "SELECT 2", "SELECT 3");
+    }
+
+    @Test
+    void shouldIgnoreSemicolonsInLiteralsAndComments() {
+        assertThat(SqlScript.split("SELECT ';' AS \"a;b\" /* ; */ FROM t; -- ;\nSELECT 2")).containsExactly(
+                "SELECT ';' AS \"a;b\" /* ; */ FROM t", "-- ;\nSELECT 2");
+    }
+
+    @Test
+    void shouldDropBlankStatements() {
+        assertThat(SqlScript.split("SELECT 1;")).containsExactly("SELECT 1");
+        assertThat(SqlScript.split(";; /* nothing */ ;")).isEmpty();
+    }
+
+    @Test
+    void when_pipelineShutDown_then_tasksNotStartedFail() throws Exception {
+        ExecutorService pipeline = Executors.newSingleThreadExecutor();
+        CountDownLatch running = new CountDownLatch(1);
+        CompletableFuture<Void> first = new CompletableFuture<>();
+        CompletableFuture<Void> second = new CompletableFuture<>();
+        CompletableFuture<Void> third = new CompletableFuture<>();
+
+        SqlScript.execute(pipeline, () -> {
+            running.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                first.complete(null);
+            }
+        }, first::completeExceptionally);
+        SqlScript.execute(pipeline, () -> second.complete(null), second::completeExceptionally);
+        running.await();
+        SqlScript.shutdown(pipeline);
+        SqlScript.execute(pipeline, () -> third.complete(null), third::completeExceptionally);
+
+        assertThat(first).succeedsWithin(Duration.ofSeconds(5));
+        assertThat(second).failsWithin(Duration.ofSeconds(5)).withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(SQLException.class).withMessageContaining("Connection is closed");
+        assertThat(third).failsWithin(Duration.ofSeconds(5)).withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(SQLException.class).withMessageContaining("Connection is closed");
+    }
+
+    @Test
+    void shouldPipelineOnlyQueries() {
+        assertThat(SqlScript.isQuery("select * from t")).isTrue();
+        assertThat(SqlScript.isQuery("WITH x AS (SELECT 1) SELECT * FROM x")).isTrue();
+        assertThat(SqlScript.isQuery("SHOW MAPPINGS")).isTrue();
+        assertThat(SqlScript.isQuery("INSERT INTO t SELECT * FROM s")).isFalse();
+        assertThat(SqlScript.isQuery("CREATE MAPPING t TYPE IMap")).isFalse();
+    }
+}
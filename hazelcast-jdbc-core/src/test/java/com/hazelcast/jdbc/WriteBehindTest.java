@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WriteBehindTest {
+
+    @Test
+    void shouldExecuteUpdatesInOrder() throws Exception {
+        List<Integer> executed = new CopyOnWriteArrayList<>();
+        WriteBehind writeBehind = new WriteBehind(4);
+        try {
+            for (int i = 0; i < 100; i++) {
+                int update = i;
+                writeBehind.submit("update", () -> executed.add(update));
+            }
+            writeBehind.flush();
+            assertThat(executed).hasSize(100).isSorted();
+        } finally {
+            writeBehind.close();
+        }
+    }
+
+    @Test
+    void shouldBlockWhenMaxPendingReached() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        WriteBehind writeBehind = new WriteBehind(2);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            writeBehind.submit("update", () -> await(release));
+            writeBehind.submit("update", () -> { });
+            Future<?> third = executor.submit(() -> {
+                writeBehind.submit("update", () -> { });
+                return null;
+            });
+            assertThatThrownBy(() -> third.get(100, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+            release.countDown();
+            third.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+            writeBehind.close();
+        }
+    }
+
+    @Test
+    void shouldReportEverySkippedUpdate() throws Exception {
+        List<Integer> executed = new CopyOnWriteArrayList<>();
+        CountDownLatch failing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        WriteBehind writeBehind = new WriteBehind(8);
+        try {
+            writeBehind.submit("failing", () -> {
+                failing.countDown();
+                await(release);
+                throw new IllegalStateException("duplicate key");
+            });
+            for (int i = 1; i <= 3; i++) {
+                int update = i;
+                writeBehind.submit("update " + i, () -> executed.add(update));
+            }
+            failing.await();
+            release.countDown();
+            // wait until the failure is recorded, the queued updates may or may not be skipped yet
+            while (!writeBehind.hasFailed()) {
+                Thread.yield();
+            }
+
+            assertThatThrownBy(() -> writeBehind.submit("update 4", () -> executed.add(4)))
+                    .isInstanceOf(SQLException.class)
+                    .hasMessage("Asynchronous update failed: duplicate key. "
+                            + "Updates submitted after it were skipped: update 1; update 2; update 3");
+            assertThat(executed).isEmpty();
+
+            writeBehind.submit("update 5", () -> executed.add(5));
+            writeBehind.flush();
+            assertThat(executed).containsExactly(5);
+        } finally {
+            writeBehind.close();
+        }
+    }
+
+    @Test
+    void shouldReportFailureAndSkipDependentUpdates() throws Exception {
+        List<Integer> executed = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        WriteBehind writeBehind = new WriteBehind(4);
+        try {
+            writeBehind.submit("update", () -> await(release));
+            writeBehind.submit("update", () -> {
+                throw new IllegalStateException("duplicate key");
+            });
+            writeBehind.submit("update", () -> executed.add(1));
+            release.countDown();
+
+            assertThatThrownBy(writeBehind::flush)
+                    .isInstanceOf(SQLException.class)
+                    .hasMessage("Asynchronous update failed: duplicate key. "
+                            + "Updates submitted after it were skipped: update")
+                    .hasCauseInstanceOf(IllegalStateException.class);
+            assertThat(executed).isEmpty();
+
+            // the failure is reported once
+            writeBehind.submit("update", () -> executed.add(2));
+            writeBehind.flush();
+            assertThat(executed).containsExactly(2);
+        } finally {
+            writeBehind.close();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
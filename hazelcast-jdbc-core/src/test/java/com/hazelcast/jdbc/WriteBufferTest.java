@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-2023, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.jdbc;
+
+import com.hazelcast.sql.HazelcastSqlException;
+import com.hazelcast.sql.SqlResult;
+import com.hazelcast.sql.SqlStatement;
+import com.hazelcast.sql.impl.SqlErrorCode;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WriteBufferTest {
+
+    @Test
+    void shouldParseInsertOfValues() {
+        WriteBuffer.Insert insert = WriteBuffer.Insert.parse(
+                "insert into  person (id, name)\nVALUES (1, 'Joe'), (?, CAST(? AS VARCHAR));");
+        assertThat(insert.prefix).isEqualTo("insert into person (id, name)");
+        assertThat(insert.rows).containsExactly("(1, 'Joe')", "(?, CAST(? AS VARCHAR))");
+        assertThat(insert.rowParameterCounts).containsExactly(0, 2);
+    }
+
+    @Test
+    void shouldNotParseOtherStatements() {
+        assertThat(WriteBuffer.Insert.parse("INSERT INTO person SELECT * FROM other")).isNull();
+        assertThat(WriteBuffer.Insert.parse("INSERT INTO person VALUES (1, 'Joe') RETURNING id")).isNull();
+        assertThat(WriteBuffer.Insert.parse("UPDATE person SET name = 'Joe'")).isNull();
+        assertThat(WriteBuffer.Insert.parse("INSERT INTO person VALUES (1, 'Joe'")).isNull();
+    }
+
+    @Test
+    void shouldMergeConsecutiveInsertsIntoSameMapping() {
+        List<SqlStatement> merged = WriteBuffer.merge(asList(
+                statement("INSERT INTO person VALUES (?, ?)", 1, "Joe"),
+                statement("INSERT INTO person VALUES (?, ?)", 2, "Ann"),
+                statement("INSERT INTO pet VALUES (1, 'Rex')"),
+                statement("INSERT INTO person VALUES (?, ?)", 3, "Bob"),
+                statement("DELETE FROM person WHERE __key = ?", 1),
+                statement("INSERT INTO person VALUES (4, 'Tom')")));
+
+        assertThat(merged).extracting(SqlStatement::getSql).containsExactly(
+                "INSERT INTO person VALUES (?, ?), (?, ?)",
+                "INSERT INTO pet VALUES (1, 'Rex')",
+                "INSERT INTO person VALUES (?, ?)",
+                "DELETE FROM person WHERE __key = ?",
+                "INSERT INTO person VALUES (4, 'Tom')");
+        assertThat(merged.get(0).getParameters()).containsExactly(1, "Joe", 2, "Ann");
+        assertThat(merged.get(1).getParameters()).isEmpty();
+        assertThat(merged.get(2).getParameters()).containsExactly(3, "Bob");
+    }
+
+    @Test
+    void shouldLimitRowsPerStatement() {
+        List<SqlStatement> statements = new ArrayList<>();
+        for (int i = 0; i < WriteBuffer.MAX_ROWS_PER_STATEMENT; i++) {
+            statements.add(statement("INSERT INTO person VALUES (?, 'a'), (?, 'b')", 2 * i, 2 * i + 1));
+        }
+
+        List<SqlStatement> merged = WriteBuffer.merge(statements);
+
+        assertThat(merged).hasSize(2);
+        assertThat(merged.get(1).getParameters()).hasSize(WriteBuffer.MAX_ROWS_PER_STATEMENT);
+        assertThat(merged.get(1).getParameters().get(0)).isEqualTo(WriteBuffer.MAX_ROWS_PER_STATEMENT);
+    }
+
+    @Test
+    void shouldNotMergeStatementsWithDifferentSchema() {
+        List<SqlStatement> merged = WriteBuffer.merge(asList(
+                statement("INSERT INTO person VALUES (1, 'Joe')").setSchema("a"),
+                statement("INSERT INTO person VALUES (2, 'Ann')").setSchema("b")));
+
+        assertThat(merged).hasSize(2);
+    }
+
+    @Test
+    void when_updateFails_then_itAndFollowingUpdatesStayBuffered() throws SQLException {
+        HazelcastSqlClient client = mock(HazelcastSqlClient.class);
+        when(client.execute(any())).thenReturn(mock(SqlResult.class))
+                .thenThrow(new HazelcastSqlException(null, SqlErrorCode.GENERIC, "failed", null, null))
+                .thenReturn(mock(SqlResult.class));
+        WriteBuffer buffer = new WriteBuffer();
+        buffer.add(statement("INSERT INTO person VALUES (1, 'Joe')"));
+        buffer.add(statement("DELETE FROM pet"));
+        buffer.add(statement("INSERT INTO person VALUES (2, 'Ann')"));
+
+        assertThatThrownBy(() -> buffer.flush(client)).isInstanceOf(SQLException.class);
+        buffer.flush(client);
+
+        ArgumentCaptor<SqlStatement> statementArgumentCaptor = ArgumentCaptor.forClass(SqlStatement.class);
+        verify(client, times(4)).execute(statementArgumentCaptor.capture());
+        assertThat(statementArgumentCaptor.getAllValues()).extracting(SqlStatement::getSql).containsExactly(
+                "INSERT INTO person VALUES (1, 'Joe')",
+                "DELETE FROM pet",
+                "DELETE FROM pet",
+                "INSERT INTO person VALUES (2, 'Ann')");
+    }
+
+    private static SqlStatement statement(String sql, Object... parameters) {
+        return new SqlStatement(sql).setParameters(parameters.length == 0 ? emptyList() : asList(parameters));
+    }
+}